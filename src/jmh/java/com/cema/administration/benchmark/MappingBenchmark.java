@@ -0,0 +1,94 @@
+package com.cema.administration.benchmark;
+
+import com.cema.administration.domain.Establishment;
+import com.cema.administration.entities.CemaEstablishment;
+import com.cema.administration.entities.CemaSubscription;
+import com.cema.administration.entities.CemaSubscriptionType;
+import com.cema.administration.mapping.impl.EstablishmentMappingService;
+import com.cema.administration.mapping.impl.SubscriptionMappingService;
+import com.cema.administration.mapping.impl.SubscriptionTypeMappingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a page of establishments to their domain objects, with the active subscription already joined or still
+ * picked from the subscription history of establishments not backfilled yet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"100"})
+    private int pageSize;
+
+    @Param({"20"})
+    private int subscriptions;
+
+    @Param({"true", "false"})
+    private boolean activeSubscriptionJoined;
+
+    private final EstablishmentMappingService establishmentMappingService =
+            new EstablishmentMappingService(new SubscriptionMappingService(new SubscriptionTypeMappingService()));
+    private final List<CemaEstablishment> establishments = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CemaSubscriptionType subscriptionType = CemaSubscriptionType.builder()
+                .name("basic")
+                .description("Basic subscription")
+                .price(1000L)
+                .duration(365L)
+                .creationDate(new Date())
+                .build();
+        for (int index = 0; index < pageSize; index++) {
+            List<CemaSubscription> cemaSubscriptions = new ArrayList<>();
+            for (int year = 0; year < subscriptions; year++) {
+                LocalDate startingDate = LocalDate.of(2000 + year, 1, 1);
+                cemaSubscriptions.add(CemaSubscription.builder()
+                        .startingDate(Date.from(startingDate.atStartOfDay(ZoneId.systemDefault()).toInstant()))
+                        .cemaSubscriptionType(subscriptionType)
+                        .build());
+            }
+            establishments.add(CemaEstablishment.builder()
+                    .name("establishment " + index)
+                    .cuig(String.valueOf(index))
+                    .email("establishment" + index + "@cema.com")
+                    .location("location")
+                    .phone("phone")
+                    .ownerUserName("owner")
+                    .subscriptions(cemaSubscriptions)
+                    .activeSubscription(activeSubscriptionJoined ? cemaSubscriptions.get(subscriptions - 1) : null)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<Establishment> mapPage() {
+        List<Establishment> page = new ArrayList<>(establishments.size());
+        for (CemaEstablishment cemaEstablishment : establishments) {
+            page.add(establishmentMappingService.mapEntityToDomain(cemaEstablishment));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,94 @@
+package com.cema.administration.benchmark;
+
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.impl.BatchReportCalculator;
+import com.cema.administration.services.report.impl.DiseaseReportCalculator;
+import com.cema.administration.services.report.impl.FeedReportCalculator;
+import com.cema.administration.services.report.impl.IncomeReportCalculator;
+import com.cema.administration.services.report.impl.LiveReportCalculator;
+import com.cema.administration.services.report.impl.PerformanceReportCalculator;
+import com.cema.administration.services.report.impl.PregnancyReportCalculator;
+import com.cema.administration.services.report.impl.WeightReportCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregation of every report over the whole synthetic history, as done on a full refresh. Each operation starts
+ * from a new snapshot, like a request does, but the clients answer from memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportAggregationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private SyntheticClients clients;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        clients = new SyntheticClients(new SyntheticData(size, 42L));
+    }
+
+    @Benchmark
+    public List<ReportAggregate> pregnancy() {
+        return aggregate(new PregnancyReportCalculator());
+    }
+
+    @Benchmark
+    public List<ReportAggregate> disease() {
+        return aggregate(new DiseaseReportCalculator());
+    }
+
+    @Benchmark
+    public List<ReportAggregate> weight() {
+        return aggregate(new WeightReportCalculator());
+    }
+
+    @Benchmark
+    public List<ReportAggregate> batch() {
+        return aggregate(new BatchReportCalculator());
+    }
+
+    @Benchmark
+    public List<ReportAggregate> feed() {
+        return aggregate(new FeedReportCalculator());
+    }
+
+    @Benchmark
+    public List<ReportAggregate> performance() {
+        return aggregate(new PerformanceReportCalculator());
+    }
+
+    @Benchmark
+    public List<ReportAggregate> live() {
+        return aggregate(new LiveReportCalculator());
+    }
+
+    @Benchmark
+    public List<ReportAggregate> income() {
+        return aggregate(new IncomeReportCalculator());
+    }
+
+    private List<ReportAggregate> aggregate(ReportCalculator reportCalculator) {
+        return reportCalculator.aggregate(clients.newSnapshot(), ReportCalculator.ALL_YEARS);
+    }
+}
@@ -0,0 +1,285 @@
+package com.cema.administration.benchmark;
+
+import com.cema.administration.domain.activity.Feeding;
+import com.cema.administration.domain.activity.Ultrasound;
+import com.cema.administration.domain.activity.Weighing;
+import com.cema.administration.domain.bovine.Batch;
+import com.cema.administration.domain.bovine.Bovine;
+import com.cema.administration.domain.economic.BovineOperation;
+import com.cema.administration.domain.economic.Supply;
+import com.cema.administration.domain.economic.SupplyOperation;
+import com.cema.administration.domain.health.Illness;
+import com.cema.administration.services.client.activity.ActivityClientService;
+import com.cema.administration.services.client.activity.AsyncActivityClientService;
+import com.cema.administration.services.client.bovine.AsyncBovineClientService;
+import com.cema.administration.services.client.bovine.BovineClientService;
+import com.cema.administration.services.client.economic.AsyncEconomicClientService;
+import com.cema.administration.services.client.economic.EconomicClientService;
+import com.cema.administration.services.client.health.AsyncHealthClientService;
+import com.cema.administration.services.client.health.HealthClientService;
+import com.cema.administration.services.report.ReportDataSnapshot;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Clients answering from the synthetic data in memory, so the benchmarks measure the report code and not HTTP.
+ * Date windows are ignored: the calculators filter the years themselves.
+ */
+public class SyntheticClients {
+
+    private final ActivityClientService activityClientService;
+    private final HealthClientService healthClientService;
+    private final BovineClientService bovineClientService;
+    private final EconomicClientService economicClientService;
+
+    public SyntheticClients(SyntheticData data) {
+        this.activityClientService = new SyntheticActivityClientService(data);
+        this.healthClientService = new SyntheticHealthClientService(data);
+        this.bovineClientService = new SyntheticBovineClientService(data);
+        this.economicClientService = new SyntheticEconomicClientService(data);
+    }
+
+    public ReportDataSnapshot newSnapshot() {
+        return new ReportDataSnapshot(activityClientService, healthClientService,
+                new AsyncActivityClient(activityClientService), new AsyncBovineClient(bovineClientService),
+                new AsyncHealthClient(healthClientService), new AsyncEconomicClient(economicClientService),
+                bovineClientService, economicClientService);
+    }
+
+    private static final class SyntheticActivityClientService implements ActivityClientService {
+        private final SyntheticData data;
+
+        private SyntheticActivityClientService(SyntheticData data) {
+            this.data = data;
+        }
+
+        @Override
+        public List<Ultrasound> getAllUltrasounds() {
+            return data.getUltrasounds();
+        }
+
+        @Override
+        public List<Ultrasound> getAllUltrasounds(LocalDate executedFrom) {
+            return data.getUltrasounds();
+        }
+
+        @Override
+        public List<Weighing> getAllWeightings() {
+            return data.getWeightings();
+        }
+
+        @Override
+        public List<Weighing> getAllWeightings(LocalDate executedFrom) {
+            return data.getWeightings();
+        }
+
+        @Override
+        public List<Feeding> getAllFeedings() {
+            return data.getFeedings();
+        }
+
+        @Override
+        public List<Feeding> getAllFeedings(LocalDate executedFrom) {
+            return data.getFeedings();
+        }
+
+        @Override
+        public void forEachUltrasound(LocalDate executedFrom, Consumer<? super Ultrasound> consumer) {
+            data.getUltrasounds().forEach(consumer);
+        }
+
+        @Override
+        public void forEachWeighing(LocalDate executedFrom, Consumer<? super Weighing> consumer) {
+            data.getWeightings().forEach(consumer);
+        }
+
+        @Override
+        public void forEachFeeding(LocalDate executedFrom, Consumer<? super Feeding> consumer) {
+            data.getFeedings().forEach(consumer);
+        }
+
+        @Override
+        public List<Weighing> getLastWeightingsForBovine(String bovineTag) {
+            return data.getLastWeightingsByTag().get(bovineTag);
+        }
+
+        @Override
+        public Map<String, List<Weighing>> getLastWeightingsForBovines(Collection<String> bovineTags) {
+            return data.getLastWeightingsByTag();
+        }
+    }
+
+    private static final class SyntheticHealthClientService implements HealthClientService {
+        private final SyntheticData data;
+
+        private SyntheticHealthClientService(SyntheticData data) {
+            this.data = data;
+        }
+
+        @Override
+        public List<Illness> getAllBovineIllness() {
+            return data.getIllnesses();
+        }
+
+        @Override
+        public List<Illness> getAllBovineIllness(LocalDate startedFrom) {
+            return data.getIllnesses();
+        }
+
+        @Override
+        public void forEachBovineIllness(LocalDate startedFrom, Consumer<? super Illness> consumer) {
+            data.getIllnesses().forEach(consumer);
+        }
+    }
+
+    private static final class SyntheticBovineClientService implements BovineClientService {
+        private final SyntheticData data;
+        private final Map<String, Bovine> bovinesByTag = new HashMap<>();
+
+        private SyntheticBovineClientService(SyntheticData data) {
+            this.data = data;
+            data.getBovines().forEach(bovine -> bovinesByTag.put(bovine.getTag(), bovine));
+        }
+
+        @Override
+        public Bovine getBovine(String tag) {
+            return bovinesByTag.get(tag);
+        }
+
+        @Override
+        public List<Bovine> getAllBovines() {
+            return data.getBovines();
+        }
+
+        @Override
+        public List<Batch> getAllBatches() {
+            return data.getBatches();
+        }
+
+        @Override
+        public List<Bovine> getAllBovinesFromList(List<String> tags) {
+            return data.getBovines();
+        }
+
+        @Override
+        public Map<String, Bovine> getBovinesByTag(Collection<String> tags) {
+            return bovinesByTag;
+        }
+    }
+
+    private static final class SyntheticEconomicClientService implements EconomicClientService {
+        private final SyntheticData data;
+
+        private SyntheticEconomicClientService(SyntheticData data) {
+            this.data = data;
+        }
+
+        @Override
+        public Supply getSupply(String name) {
+            return data.getSupply(name);
+        }
+
+        @Override
+        public List<SupplyOperation> getAllSupplyOperations() {
+            return data.getSupplyOperations();
+        }
+
+        @Override
+        public List<BovineOperation> getAllBovineOperations() {
+            return data.getBovineOperations();
+        }
+    }
+
+    private static final class AsyncActivityClient implements AsyncActivityClientService {
+        private final ActivityClientService activityClientService;
+
+        private AsyncActivityClient(ActivityClientService activityClientService) {
+            this.activityClientService = activityClientService;
+        }
+
+        @Override
+        public CompletableFuture<List<Ultrasound>> getAllUltrasounds(LocalDate executedFrom) {
+            return CompletableFuture.completedFuture(activityClientService.getAllUltrasounds(executedFrom));
+        }
+
+        @Override
+        public CompletableFuture<List<Weighing>> getAllWeightings(LocalDate executedFrom) {
+            return CompletableFuture.completedFuture(activityClientService.getAllWeightings(executedFrom));
+        }
+
+        @Override
+        public CompletableFuture<List<Feeding>> getAllFeedings(LocalDate executedFrom) {
+            return CompletableFuture.completedFuture(activityClientService.getAllFeedings(executedFrom));
+        }
+
+        @Override
+        public CompletableFuture<Map<String, List<Weighing>>> getLastWeightingsForBovines(Collection<String> bovineTags) {
+            return CompletableFuture.completedFuture(activityClientService.getLastWeightingsForBovines(bovineTags));
+        }
+    }
+
+    private static final class AsyncHealthClient implements AsyncHealthClientService {
+        private final HealthClientService healthClientService;
+
+        private AsyncHealthClient(HealthClientService healthClientService) {
+            this.healthClientService = healthClientService;
+        }
+
+        @Override
+        public CompletableFuture<List<Illness>> getAllBovineIllness(LocalDate startedFrom) {
+            return CompletableFuture.completedFuture(healthClientService.getAllBovineIllness(startedFrom));
+        }
+    }
+
+    private static final class AsyncBovineClient implements AsyncBovineClientService {
+        private final BovineClientService bovineClientService;
+
+        private AsyncBovineClient(BovineClientService bovineClientService) {
+            this.bovineClientService = bovineClientService;
+        }
+
+        @Override
+        public CompletableFuture<List<Bovine>> getAllBovines() {
+            return CompletableFuture.completedFuture(bovineClientService.getAllBovines());
+        }
+
+        @Override
+        public CompletableFuture<List<Batch>> getAllBatches() {
+            return CompletableFuture.completedFuture(bovineClientService.getAllBatches());
+        }
+
+        @Override
+        public CompletableFuture<Map<String, Bovine>> getBovinesByTag(Collection<String> tags) {
+            return CompletableFuture.completedFuture(bovineClientService.getBovinesByTag(tags));
+        }
+    }
+
+    private static final class AsyncEconomicClient implements AsyncEconomicClientService {
+        private final EconomicClientService economicClientService;
+
+        private AsyncEconomicClient(EconomicClientService economicClientService) {
+            this.economicClientService = economicClientService;
+        }
+
+        @Override
+        public CompletableFuture<Supply> getSupply(String name) {
+            return CompletableFuture.completedFuture(economicClientService.getSupply(name));
+        }
+
+        @Override
+        public CompletableFuture<List<SupplyOperation>> getAllSupplyOperations() {
+            return CompletableFuture.completedFuture(economicClientService.getAllSupplyOperations());
+        }
+
+        @Override
+        public CompletableFuture<List<BovineOperation>> getAllBovineOperations() {
+            return CompletableFuture.completedFuture(economicClientService.getAllBovineOperations());
+        }
+    }
+}
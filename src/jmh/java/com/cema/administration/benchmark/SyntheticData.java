@@ -0,0 +1,190 @@
+package com.cema.administration.benchmark;
+
+import com.cema.administration.constants.OperationType;
+import com.cema.administration.domain.activity.Feeding;
+import com.cema.administration.domain.activity.Ultrasound;
+import com.cema.administration.domain.activity.Weighing;
+import com.cema.administration.domain.bovine.Batch;
+import com.cema.administration.domain.bovine.Bovine;
+import com.cema.administration.domain.economic.BovineOperation;
+import com.cema.administration.domain.economic.Supply;
+import com.cema.administration.domain.economic.SupplyOperation;
+import com.cema.administration.domain.health.Illness;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Upstream records of a single establishment spread over twenty years, generated from a fixed seed so every run
+ * benchmarks the same data. The size is the number of records of each activity and operation list; the herd is a
+ * tenth of it.
+ */
+public class SyntheticData {
+
+    public static final String CUIG = "321";
+    public static final int FIRST_YEAR = 2002;
+    public static final int YEARS = 20;
+    private static final String[] CATEGORIES = {"vaca", "toro", "ternero"};
+    private static final String[] RESULTS = {"positivo", "negativo", "positive", "negative", ""};
+    private static final String[] DISEASES = {"aftosa", "brucelosis", "tuberculosis", "mancha", "carbunclo"};
+    private static final String[] SUPPLIES = {"maiz", "soja", "alfalfa", "sorgo", "avena", "sal", "vacuna", "pasto"};
+    private static final int BATCHES = 20;
+    private static final int LAST_WEIGHTINGS = 10;
+
+    private final Random random;
+    private final List<Bovine> bovines = new ArrayList<>();
+    private final List<Batch> batches = new ArrayList<>();
+    private final List<Weighing> weightings = new ArrayList<>();
+    private final List<Feeding> feedings = new ArrayList<>();
+    private final List<Ultrasound> ultrasounds = new ArrayList<>();
+    private final List<Illness> illnesses = new ArrayList<>();
+    private final List<SupplyOperation> supplyOperations = new ArrayList<>();
+    private final List<BovineOperation> bovineOperations = new ArrayList<>();
+    private final Map<String, Supply> supplies = new HashMap<>();
+    private final Map<String, List<Weighing>> lastWeightingsByTag;
+
+    public SyntheticData(int size, long seed) {
+        random = new Random(seed);
+        int herdSize = Math.max(1, size / 10);
+
+        for (int index = 0; index < herdSize; index++) {
+            Bovine bovine = new Bovine();
+            bovine.setTag("tag-" + index);
+            bovine.setCategory(pick(CATEGORIES));
+            bovine.setEstablishmentCuig(CUIG);
+            bovine.setTaggingDate(randomDate());
+            bovines.add(bovine);
+        }
+        for (int index = 0; index < BATCHES; index++) {
+            Batch batch = new Batch();
+            batch.setBatchName("batch-" + index);
+            batch.setEstablishmentCuig(CUIG);
+            batch.setBovineTags(new ArrayList<>());
+            batches.add(batch);
+        }
+        for (Bovine bovine : bovines) {
+            pick(batches).getBovineTags().add(bovine.getTag());
+        }
+        for (String supplyName : SUPPLIES) {
+            Supply supply = new Supply();
+            supply.setName(supplyName);
+            supply.setPrice(1L + random.nextInt(500));
+            supplies.put(supplyName, supply);
+        }
+
+        for (int index = 0; index < size; index++) {
+            Weighing weighing = new Weighing();
+            weighing.setExecutionDate(randomDate());
+            weighing.setEstablishmentCuig(CUIG);
+            weighing.setBovineTag(pick(bovines).getTag());
+            weighing.setCategory(pick(CATEGORIES));
+            weighing.setWeight(50L + random.nextInt(900));
+            weightings.add(weighing);
+
+            Feeding feeding = new Feeding();
+            feeding.setExecutionDate(randomDate());
+            feeding.setEstablishmentCuig(CUIG);
+            feeding.setBovineTag(pick(bovines).getTag());
+            feeding.setFood(pick(SUPPLIES));
+            feeding.setAmount(1L + random.nextInt(50));
+            feedings.add(feeding);
+
+            Ultrasound ultrasound = new Ultrasound();
+            ultrasound.setExecutionDate(randomDate());
+            ultrasound.setEstablishmentCuig(CUIG);
+            ultrasound.setBovineTag(pick(bovines).getTag());
+            ultrasound.setResult(pick(RESULTS));
+            ultrasounds.add(ultrasound);
+
+            Illness illness = new Illness();
+            illness.setStartingDate(randomDate());
+            illness.setEstablishmentCuig(CUIG);
+            illness.setBovineTag(pick(bovines).getTag());
+            illness.setDiseaseName(pick(DISEASES));
+            illnesses.add(illness);
+
+            SupplyOperation supplyOperation = new SupplyOperation();
+            supplyOperation.setTransactionDate(randomDate());
+            supplyOperation.setEstablishmentCuig(CUIG);
+            supplyOperation.setSupplyName(pick(SUPPLIES));
+            supplyOperation.setOperationType(random.nextBoolean() ? OperationType.BUY : OperationType.USE);
+            supplyOperation.setAmount(1L + random.nextInt(100));
+            supplyOperations.add(supplyOperation);
+
+            BovineOperation bovineOperation = new BovineOperation();
+            bovineOperation.setTransactionDate(randomDate());
+            bovineOperation.setEstablishmentCuig(CUIG);
+            bovineOperation.setBovineTag(pick(bovines).getTag());
+            bovineOperation.setOperationType(random.nextBoolean() ? OperationType.BUY : OperationType.SELL);
+            bovineOperation.setAmount(1000L + random.nextInt(100000));
+            bovineOperations.add(bovineOperation);
+        }
+
+        lastWeightingsByTag = weightings.stream()
+                .sorted()
+                .collect(Collectors.groupingBy(Weighing::getBovineTag));
+        lastWeightingsByTag.replaceAll((tag, weightingsOfTag) ->
+                weightingsOfTag.subList(0, Math.min(LAST_WEIGHTINGS, weightingsOfTag.size())));
+    }
+
+    public List<Bovine> getBovines() {
+        return bovines;
+    }
+
+    public List<Batch> getBatches() {
+        return batches;
+    }
+
+    public List<Weighing> getWeightings() {
+        return weightings;
+    }
+
+    public List<Feeding> getFeedings() {
+        return feedings;
+    }
+
+    public List<Ultrasound> getUltrasounds() {
+        return ultrasounds;
+    }
+
+    public List<Illness> getIllnesses() {
+        return illnesses;
+    }
+
+    public List<SupplyOperation> getSupplyOperations() {
+        return supplyOperations;
+    }
+
+    public List<BovineOperation> getBovineOperations() {
+        return bovineOperations;
+    }
+
+    public Supply getSupply(String name) {
+        return supplies.get(name);
+    }
+
+    public Map<String, List<Weighing>> getLastWeightingsByTag() {
+        return Collections.unmodifiableMap(lastWeightingsByTag);
+    }
+
+    private Date randomDate() {
+        LocalDate date = LocalDate.of(FIRST_YEAR + random.nextInt(YEARS), 1, 1).plusDays(random.nextInt(365));
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).plusHours(random.nextInt(24)).toInstant());
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.cema.administration.benchmark;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.impl.BatchReportCalculator;
+import com.cema.administration.services.report.impl.DiseaseReportCalculator;
+import com.cema.administration.services.report.impl.FeedReportCalculator;
+import com.cema.administration.services.report.impl.IncomeReportCalculator;
+import com.cema.administration.services.report.impl.LiveReportCalculator;
+import com.cema.administration.services.report.impl.PerformanceReportCalculator;
+import com.cema.administration.services.report.impl.PregnancyReportCalculator;
+import com.cema.administration.services.report.impl.WeightReportCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a report from its stored aggregates and filtering it by year, the work left on every read once the
+ * aggregates are refreshed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class YearlyReportBenchmark {
+
+    @Param({"PREGNANCY", "DISEASE", "WEIGHT", "BATCH", "FEED", "PERFORMANCE", "LIVE", "INCOME"})
+    private ReportType reportType;
+
+    @Param({"100000"})
+    private int size;
+
+    private ReportCalculator reportCalculator;
+    private List<ReportAggregate> aggregates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<ReportCalculator> reportCalculators = Arrays.asList(new PregnancyReportCalculator(),
+                new DiseaseReportCalculator(), new WeightReportCalculator(), new BatchReportCalculator(),
+                new FeedReportCalculator(), new PerformanceReportCalculator(), new LiveReportCalculator(),
+                new IncomeReportCalculator());
+        reportCalculator = reportCalculators.stream()
+                .filter(calculator -> calculator.getType() == reportType)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        SyntheticClients clients = new SyntheticClients(new SyntheticData(size, 42L));
+        aggregates = reportCalculator.aggregate(clients.newSnapshot(), ReportCalculator.ALL_YEARS);
+    }
+
+    @Benchmark
+    public YearlyReport build() {
+        return reportCalculator.buildReport(aggregates);
+    }
+
+    @Benchmark
+    public YearlyReport buildAndFilterByYear() {
+        YearlyReport report = reportCalculator.buildReport(aggregates);
+        YearlyReport filteredReport = new YearlyReport(report.getType(), report.getDescription(),
+                new ArrayList<>(report.getReportedList()));
+        filteredReport.filterByYear(2010, 2018);
+        return filteredReport;
+    }
+}
@@ -0,0 +1,69 @@
+package com.cema.administration.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The latencies and response statuses of the requests of one operation. Each worker records into its own recorder,
+ * the recorders being merged once the run is over, so recording needs no synchronization.
+ */
+public class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private boolean sorted;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+
+    public void record(long latencyNanos, int status) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        sorted = false;
+        statuses.merge(status, 1L, Long::sum);
+    }
+
+    public void merge(LatencyRecorder other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(count + other.count, latencies.length * 2));
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        sorted = false;
+        other.statuses.forEach((status, times) -> statuses.merge(status, times, Long::sum));
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * The requests answered with an error status, or not answered at all (recorded with status 0).
+     */
+    public long getErrors() {
+        return statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() < 200 || entry.getKey() >= 400)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    public Map<Integer, Long> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * The latency under which the given fraction of the requests were answered, by the nearest rank.
+     */
+    public long getPercentileNanos(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(latencies, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(fraction * count);
+        return latencies[Math.max(0, Math.min(count, rank) - 1)];
+    }
+}
@@ -0,0 +1,187 @@
+package com.cema.administration.loadtest;
+
+import com.cema.administration.ApiServer;
+import com.cema.administration.benchmark.SyntheticData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the service against in-process stubs of its upstream services and runs the {@link Scenario} with a number of
+ * concurrent users, printing the throughput and the p50/p99 latencies of every operation. The service still needs
+ * its database, configured as usual, e.g. with {@code --spring.datasource.url=...}. The stubs and the users share
+ * the machine with the service, so results are meant to compare changes on the same machine, not as absolute
+ * capacity.
+ * <p>
+ * Options, as {@code --loadtest.<option>=<value>} arguments:
+ * <ul>
+ *     <li>{@code size}: records of every upstream list, 10000 by default</li>
+ *     <li>{@code seed}: seed of the synthetic data, 42 by default</li>
+ *     <li>{@code latency-ms} and {@code latency-jitter-ms}: latency added to every upstream response, 20 ms plus up
+ *     to 10 ms by default</li>
+ *     <li>{@code users}: concurrent users, 16 by default</li>
+ *     <li>{@code warmup} and {@code duration}: seconds of warm-up, not measured, and of measurement, 10 and 60 by
+ *     default</li>
+ *     <li>{@code mix}: weights of the operations, {@code validate=70,reports=20,audit=10} by default</li>
+ *     <li>{@code report-types} and {@code report-years}: reports of the dashboard and how many of the last years
+ *     of data they cover, all of them over 5 years by default</li>
+ * </ul>
+ */
+@Slf4j
+public class LoadTest {
+
+    private static final String OPTION_PREFIX = "--loadtest.";
+    private static final String DEFAULT_MIX = "validate=70,reports=20,audit=10";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int size = Integer.parseInt(options.getOrDefault("size", "10000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        long latencyMillis = Long.parseLong(options.getOrDefault("latency-ms", "20"));
+        long latencyJitterMillis = Long.parseLong(options.getOrDefault("latency-jitter-ms", "10"));
+        int users = Integer.parseInt(options.getOrDefault("users", "16"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "10"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "60"));
+        Map<Scenario.Operation, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        String reportsQuery = buildReportsQuery(options.getOrDefault("report-types", ""),
+                Integer.parseInt(options.getOrDefault("report-years", "5")));
+
+        // Configured like the message converter of the service
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        UpstreamStubs stubs = new UpstreamStubs(new SyntheticData(size, seed), mapper, latencyMillis, latencyJitterMillis);
+        stubs.start();
+
+        // Spring ignores the load test options, and command line arguments take precedence over application.yml
+        List<String> applicationArgs = new ArrayList<>(Arrays.asList(args));
+        applicationArgs.add("--server.port=0");
+        stubs.getUrls().forEach((property, url) -> applicationArgs.add("--" + property + "=" + url));
+        System.setProperty("http.maxConnections", String.valueOf(users));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ApiServer.class)
+                .run(applicationArgs.toArray(new String[0]));
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Scenario scenario = new Scenario("http://localhost:" + port + "/v1/", mapper, reportsQuery, mix);
+            scenario.prepare();
+
+            log.info("Running {} users for {} s after {} s of warm-up", users, durationSeconds, warmupSeconds);
+            Map<Scenario.Operation, LatencyRecorder> results = run(scenario, users, warmupSeconds, durationSeconds);
+
+            System.out.printf("%nLoad test: %d users, %d records per upstream list, %d-%d ms upstream latency, %s%n",
+                    users, size, latencyMillis, latencyMillis + latencyJitterMillis, mix);
+            printResults(results, durationSeconds);
+        } finally {
+            context.close();
+            stubs.stop();
+        }
+    }
+
+    private static Map<Scenario.Operation, LatencyRecorder> run(Scenario scenario, int users, long warmupSeconds,
+                                                                long durationSeconds) throws Exception {
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        try {
+            List<Future<Map<Scenario.Operation, LatencyRecorder>>> futures = new ArrayList<>();
+            // User 0 is the owner registered by the scenario
+            for (int user = 1; user <= users; user++) {
+                int current = user;
+                futures.add(workers.submit(() -> runUser(scenario, current, measureFrom, end)));
+            }
+            Map<Scenario.Operation, LatencyRecorder> results = newRecorders();
+            for (Future<Map<Scenario.Operation, LatencyRecorder>> future : futures) {
+                future.get().forEach((operation, recorder) -> results.get(operation).merge(recorder));
+            }
+            return results;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static Map<Scenario.Operation, LatencyRecorder> runUser(Scenario scenario, int user, long measureFrom,
+                                                                    long end) {
+        Map<Scenario.Operation, LatencyRecorder> recorders = newRecorders();
+        for (long start = System.nanoTime(); start < end; start = System.nanoTime()) {
+            Scenario.Operation operation = scenario.next();
+            int status = scenario.execute(operation, user);
+            if (start >= measureFrom) {
+                recorders.get(operation).record(System.nanoTime() - start, status);
+            }
+        }
+        return recorders;
+    }
+
+    private static void printResults(Map<Scenario.Operation, LatencyRecorder> results, long durationSeconds) {
+        String format = "%-10s %10s %8s %10s %9s %9s %9s  %s%n";
+        System.out.printf(format, "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms", "statuses");
+        LatencyRecorder total = new LatencyRecorder();
+        for (Map.Entry<Scenario.Operation, LatencyRecorder> result : results.entrySet()) {
+            printResult(format, result.getKey().name().toLowerCase(Locale.ROOT), result.getValue(), durationSeconds);
+            total.merge(result.getValue());
+        }
+        printResult(format, "total", total, durationSeconds);
+    }
+
+    private static void printResult(String format, String operation, LatencyRecorder recorder, long durationSeconds) {
+        System.out.printf(format, operation, recorder.getCount(), recorder.getErrors(),
+                String.format("%.1f", (double) recorder.getCount() / durationSeconds),
+                toMillis(recorder.getPercentileNanos(0.5)), toMillis(recorder.getPercentileNanos(0.99)),
+                toMillis(recorder.getPercentileNanos(1)), recorder.getStatuses());
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+    private static Map<Scenario.Operation, LatencyRecorder> newRecorders() {
+        Map<Scenario.Operation, LatencyRecorder> recorders = new EnumMap<>(Scenario.Operation.class);
+        for (Scenario.Operation operation : Scenario.Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        return recorders;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (arg.startsWith(OPTION_PREFIX) && separator > 0) {
+                options.put(arg.substring(OPTION_PREFIX.length(), separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    private static Map<Scenario.Operation, Integer> parseMix(String mix) {
+        Map<Scenario.Operation, Integer> weights = new EnumMap<>(Scenario.Operation.class);
+        for (String weight : mix.split(",")) {
+            String[] operationAndWeight = weight.trim().split("=");
+            if (operationAndWeight.length != 2) {
+                throw new IllegalArgumentException(String.format("Invalid weight %s in the mix %s", weight, mix));
+            }
+            weights.put(Scenario.Operation.valueOf(operationAndWeight[0].trim().toUpperCase(Locale.ROOT)),
+                    Integer.parseInt(operationAndWeight[1].trim()));
+        }
+        return weights;
+    }
+
+    private static String buildReportsQuery(String reportTypes, int reportYears) {
+        int yearTo = SyntheticData.FIRST_YEAR + SyntheticData.YEARS - 1;
+        String query = "?yearFrom=" + (yearTo - reportYears + 1) + "&yearTo=" + yearTo;
+        return reportTypes.isEmpty() ? query : query + "&types=" + reportTypes;
+    }
+}
@@ -0,0 +1,160 @@
+package com.cema.administration.loadtest;
+
+import com.cema.administration.benchmark.SyntheticData;
+import com.cema.administration.domain.Establishment;
+import com.cema.administration.domain.SubscriptionType;
+import com.cema.administration.domain.audit.Audit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The mix of requests of the load test: establishment validations, dashboard reports and audit writes, picked at
+ * random by their weights. Every user of the scenario is a patron of the synthetic establishment.
+ */
+@Slf4j
+public class Scenario {
+
+    public enum Operation {
+        VALIDATE,
+        REPORTS,
+        AUDIT
+    }
+
+    private static final String SUBSCRIPTION_TYPE = "loadtest";
+
+    private final String baseUrl;
+    private final ObjectMapper mapper;
+    private final String reportsQuery;
+    private final Map<Operation, Integer> weights;
+    private final int totalWeight;
+
+    public Scenario(String baseUrl, ObjectMapper mapper, String reportsQuery, Map<Operation, Integer> weights) {
+        this.baseUrl = baseUrl;
+        this.mapper = mapper;
+        this.reportsQuery = reportsQuery;
+        this.weights = new EnumMap<>(weights);
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("The scenario needs at least one operation with a positive weight");
+        }
+    }
+
+    public Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+            pick -= weight.getValue();
+            if (pick < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Weights changed while picking");
+    }
+
+    /**
+     * Sends the request of the operation as the given user and answers the response status, 0 when it failed.
+     */
+    public int execute(Operation operation, int user) {
+        String token = UpstreamStubs.token("patron", user);
+        try {
+            switch (operation) {
+                case VALIDATE:
+                    return send("GET", "establishment/validate/" + SyntheticData.CUIG, token, null);
+                case REPORTS:
+                    return send("GET", "reporting/all" + reportsQuery, token, null);
+                case AUDIT:
+                    return send("POST", "audit/", token, mapper.writeValueAsBytes(buildAudit(user)));
+                default:
+                    throw new IllegalArgumentException("Unknown operation " + operation);
+            }
+        } catch (IOException ioException) {
+            log.debug("Request {} failed", operation, ioException);
+            return 0;
+        }
+    }
+
+    /**
+     * Registers the synthetic establishment with an active subscription, so its validations succeed. Whatever was
+     * already registered by a previous run is left as it is.
+     */
+    public void prepare() throws IOException {
+        String token = UpstreamStubs.token("admin", 0);
+        SubscriptionType subscriptionType = SubscriptionType.builder()
+                .name(SUBSCRIPTION_TYPE)
+                .description("Load test")
+                .price(0L)
+                .duration(3650L)
+                .build();
+        Establishment establishment = Establishment.builder()
+                .name("Load test")
+                .cuig(SyntheticData.CUIG)
+                .ownerUserName("loadtest-patron-0")
+                .build();
+
+        expect(send("POST", "subscription/", token, mapper.writeValueAsBytes(subscriptionType)), "subscription type");
+        expect(send("POST", "establishment/", token, mapper.writeValueAsBytes(establishment)), "establishment");
+        expect(send("POST", "establishment/" + SyntheticData.CUIG + "/subscription?name=" + SUBSCRIPTION_TYPE, token, new byte[0]),
+                "subscription");
+    }
+
+    private void expect(int status, String registered) {
+        if (status == 409) {
+            log.info("The load test {} was already registered", registered);
+        } else if (status < 200 || status >= 300) {
+            log.warn("Could not register the load test {}, got status {}", registered, status);
+        }
+    }
+
+    private Audit buildAudit(int user) {
+        String tag = "tag-" + ThreadLocalRandom.current().nextInt(1000);
+        return Audit.builder()
+                .responseStatus("200")
+                .responseBody("{\"tag\":\"" + tag + "\",\"category\":\"vaca\",\"establishmentCuig\":\"" + SyntheticData.CUIG + "\"}")
+                .localAddress("127.0.0.1")
+                .requestHeaders("{accept=application/json}")
+                .uri("/v1/bovines/" + tag)
+                .httpMethod("GET")
+                .method("lookUpBovineByTag")
+                .role("PATRON")
+                .username("loadtest-patron-" + user)
+                .establishmentCuig(SyntheticData.CUIG)
+                .auditDate(new Date())
+                .module("bovine")
+                .build();
+    }
+
+    private int send(String method, String path, String token, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("Authorization", token);
+        connection.setRequestProperty("Accept", "application/json");
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream requestBody = connection.getOutputStream()) {
+                requestBody.write(body);
+            }
+        }
+        int status = connection.getResponseCode();
+        // Reading the whole response lets the connection be kept alive for the next request
+        InputStream responseBody = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        if (responseBody != null) {
+            try (InputStream input = responseBody) {
+                byte[] buffer = new byte[8192];
+                while (input.read(buffer) >= 0) {
+                    // Discarded, only the latency matters
+                }
+            }
+        }
+        return status;
+    }
+}
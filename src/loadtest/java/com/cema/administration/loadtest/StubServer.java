@@ -0,0 +1,228 @@
+package com.cema.administration.loadtest;
+
+import com.cema.administration.services.client.PagedFetcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An upstream service answering JSON from memory on a loopback port, with the given latency added to every response.
+ * Routes are matched in the order they were added against the path after {@code /v1/}.
+ */
+@Slf4j
+public class StubServer {
+
+    private static final String BASE_PATH = "/v1/";
+
+    private final String name;
+    private final ObjectMapper mapper;
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final List<Route> routes = new ArrayList<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public StubServer(String name, ObjectMapper mapper, long latencyMillis, long latencyJitterMillis) {
+        this.name = name;
+        this.mapper = mapper;
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+    }
+
+    public StubServer route(String method, String pathPattern, Handler handler) {
+        routes.add(new Route(method, Pattern.compile(pathPattern), handler));
+        return this;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, name + "-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(BASE_PATH, this::handle);
+        server.start();
+        log.info("Stub {} listening on {}", name, getBaseUrl());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            StubResponse response;
+            try {
+                delay();
+                response = dispatch(exchange);
+            } catch (IOException | RuntimeException | InterruptedException exception) {
+                log.warn("Stub {} failed to answer {}", name, exchange.getRequestURI(), exception);
+                response = StubResponse.error(500, exception.getMessage());
+            }
+            byte[] body = mapper.writeValueAsBytes(response.getBody());
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if (response.getTotalPages() >= 0) {
+                exchange.getResponseHeaders().add(PagedFetcher.TOTAL_PAGES_HEADER, String.valueOf(response.getTotalPages()));
+            }
+            exchange.sendResponseHeaders(response.getStatus(), body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private StubResponse dispatch(HttpExchange exchange) throws IOException {
+        // The clients join base urls and paths that both have a slash
+        String path = exchange.getRequestURI().getPath().substring(BASE_PATH.length()).replaceAll("/+", "/");
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        for (Route route : routes) {
+            if (!route.method.equals(exchange.getRequestMethod())) {
+                continue;
+            }
+            Matcher matcher = route.pathPattern.matcher(path);
+            if (matcher.matches()) {
+                StubRequest request = new StubRequest(matcher, parseQuery(exchange.getRequestURI().getRawQuery()),
+                        exchange.getRequestHeaders().getFirst("Authorization"), readBody(exchange.getRequestBody()));
+                return route.handler.handle(request);
+            }
+        }
+        return StubResponse.notFound(String.format("No stub for %s %s", exchange.getRequestMethod(), path));
+    }
+
+    private void delay() throws InterruptedException {
+        long millis = latencyMillis;
+        if (latencyJitterMillis > 0) {
+            millis += ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1);
+        }
+        if (millis > 0) {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws IOException {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> query = new HashMap<>();
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                query.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"),
+                        URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+            }
+        }
+        return query;
+    }
+
+    private static String readBody(InputStream body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        for (int read = body.read(buffer); read >= 0; read = body.read(buffer)) {
+            bytes.write(buffer, 0, read);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    public interface Handler {
+        StubResponse handle(StubRequest request) throws IOException;
+    }
+
+    @Getter
+    public static class StubRequest {
+        private final Matcher pathMatcher;
+        private final Map<String, String> query;
+        private final String authorization;
+        private final String body;
+
+        private StubRequest(Matcher pathMatcher, Map<String, String> query, String authorization, String body) {
+            this.pathMatcher = pathMatcher;
+            this.query = query;
+            this.authorization = authorization;
+            this.body = body;
+        }
+
+        public String getPathVariable(int group) {
+            return pathMatcher.group(group);
+        }
+
+        public int getIntParameter(String parameter, int defaultValue) {
+            String value = query.get(parameter);
+            return value == null ? defaultValue : Integer.parseInt(value);
+        }
+    }
+
+    @Getter
+    public static class StubResponse {
+        private final int status;
+        private final Object body;
+        // Negative when the response is not a page
+        private final int totalPages;
+
+        private StubResponse(int status, Object body, int totalPages) {
+            this.status = status;
+            this.body = body;
+            this.totalPages = totalPages;
+        }
+
+        public static StubResponse ok(Object body) {
+            return new StubResponse(200, body, -1);
+        }
+
+        public static StubResponse page(List<?> elements, int totalPages) {
+            return new StubResponse(200, elements, totalPages);
+        }
+
+        public static StubResponse notFound(String message) {
+            return error(404, message);
+        }
+
+        public static StubResponse error(int status, String message) {
+            return new StubResponse(status, Collections.singletonMap("message", message), -1);
+        }
+    }
+
+    private static class Route {
+        private final String method;
+        private final Pattern pathPattern;
+        private final Handler handler;
+
+        private Route(String method, Pattern pathPattern, Handler handler) {
+            this.method = method;
+            this.pathPattern = pathPattern;
+            this.handler = handler;
+        }
+    }
+}
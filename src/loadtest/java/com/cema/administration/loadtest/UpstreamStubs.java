@@ -0,0 +1,203 @@
+package com.cema.administration.loadtest;
+
+import com.cema.administration.benchmark.SyntheticData;
+import com.cema.administration.domain.User;
+import com.cema.administration.domain.activity.Feeding;
+import com.cema.administration.domain.activity.Ultrasound;
+import com.cema.administration.domain.activity.Weighing;
+import com.cema.administration.domain.bovine.Bovine;
+import com.cema.administration.domain.economic.Supply;
+import com.cema.administration.domain.health.Illness;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The users, bovine, activity, health and economic services, answering from the synthetic data of a single
+ * establishment. Lists are paged like the real services and honour their date filters, so the upstream traffic of
+ * the service under test has the same shape as in production.
+ */
+public class UpstreamStubs {
+
+    private static final String TOKEN_PREFIX = "Bearer loadtest-";
+    private static final Pattern TOKEN = Pattern.compile("Bearer loadtest-(admin|patron|peon)-(\\d+)");
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final SyntheticData data;
+    private final ObjectMapper mapper;
+    private final Map<String, Bovine> bovinesByTag = new HashMap<>();
+    private final StubServer users;
+    private final StubServer bovine;
+    private final StubServer activity;
+    private final StubServer health;
+    private final StubServer economic;
+
+    public UpstreamStubs(SyntheticData data, ObjectMapper mapper, long latencyMillis, long latencyJitterMillis) {
+        this.data = data;
+        this.mapper = mapper;
+        data.getBovines().forEach(bovine -> bovinesByTag.put(bovine.getTag(), bovine));
+
+        DatedList<Ultrasound> ultrasounds = new DatedList<>(data.getUltrasounds(), Ultrasound::getExecutionDate);
+        DatedList<Weighing> weightings = new DatedList<>(data.getWeightings(), Weighing::getExecutionDate);
+        DatedList<Feeding> feedings = new DatedList<>(data.getFeedings(), Feeding::getExecutionDate);
+        DatedList<Illness> illnesses = new DatedList<>(data.getIllnesses(), Illness::getStartingDate);
+
+        users = new StubServer("users", mapper, latencyMillis, latencyJitterMillis)
+                .route("POST", "users", this::getUser);
+        bovine = new StubServer("bovine", mapper, latencyMillis, latencyJitterMillis)
+                .route("GET", "bovines/search", request -> page(data.getBovines(), request))
+                .route("POST", "bovines/list", this::getBovinesFromList)
+                .route("GET", "bovines/([^/]+)", this::getBovine)
+                .route("GET", "batches/list", request -> page(data.getBatches(), request));
+        activity = new StubServer("activity", mapper, latencyMillis, latencyJitterMillis)
+                .route("POST", "ultrasounds/search", request -> ultrasounds.page(request, "executionDateFrom"))
+                .route("POST", "weightings/search", request -> searchWeightings(weightings, request))
+                .route("POST", "feedings/search", request -> feedings.page(request, "executionDateFrom"));
+        health = new StubServer("health", mapper, latencyMillis, latencyJitterMillis)
+                .route("GET", "illness/list", request -> illnesses.page(request, "startingDateFrom"));
+        economic = new StubServer("economic", mapper, latencyMillis, latencyJitterMillis)
+                .route("GET", "supply-operations/list", request -> page(data.getSupplyOperations(), request))
+                .route("GET", "bovine-operations/list", request -> page(data.getBovineOperations(), request))
+                .route("GET", "supply/([^/]+)", this::getSupply);
+    }
+
+    public static String token(String role, int user) {
+        return TOKEN_PREFIX + role + "-" + user;
+    }
+
+    public void start() throws IOException {
+        for (StubServer server : getServers()) {
+            server.start();
+        }
+    }
+
+    public void stop() {
+        for (StubServer server : getServers()) {
+            server.stop();
+        }
+    }
+
+    /**
+     * The back-end urls pointing the service under test to the stubs.
+     */
+    public Map<String, String> getUrls() {
+        Map<String, String> urls = new HashMap<>();
+        urls.put("back-end.users.url", users.getBaseUrl() + "users");
+        urls.put("back-end.bovine.url", bovine.getBaseUrl());
+        urls.put("back-end.activity.url", activity.getBaseUrl());
+        urls.put("back-end.health.url", health.getBaseUrl());
+        urls.put("back-end.economic.url", economic.getBaseUrl());
+        return urls;
+    }
+
+    private List<StubServer> getServers() {
+        return Arrays.asList(users, bovine, activity, health, economic);
+    }
+
+    private StubServer.StubResponse getUser(StubServer.StubRequest request) {
+        Matcher token = request.getAuthorization() == null ? null : TOKEN.matcher(request.getAuthorization());
+        if (token == null || !token.matches()) {
+            return StubServer.StubResponse.error(401, "Invalid token");
+        }
+        String role = token.group(1).toUpperCase(Locale.ROOT);
+        return StubServer.StubResponse.ok(User.builder()
+                .establishmentCuig(SyntheticData.CUIG)
+                .userName("loadtest-" + token.group(1) + "-" + token.group(2))
+                .name("Load")
+                .lastName("Test")
+                .role(role)
+                .build());
+    }
+
+    private StubServer.StubResponse getBovine(StubServer.StubRequest request) {
+        Bovine found = bovinesByTag.get(request.getPathVariable(1));
+        return found == null ? StubServer.StubResponse.notFound("Bovine not found") : StubServer.StubResponse.ok(found);
+    }
+
+    private StubServer.StubResponse getBovinesFromList(StubServer.StubRequest request) throws IOException {
+        List<String> tags = mapper.readValue(request.getBody(), new TypeReference<List<String>>() {
+        });
+        List<Bovine> found = new ArrayList<>();
+        for (String tag : tags) {
+            Bovine bovine = bovinesByTag.get(tag);
+            if (bovine != null) {
+                found.add(bovine);
+            }
+        }
+        return StubServer.StubResponse.ok(found);
+    }
+
+    private StubServer.StubResponse getSupply(StubServer.StubRequest request) {
+        Supply supply = data.getSupply(request.getPathVariable(1));
+        return supply == null ? StubServer.StubResponse.notFound("Supply not found") : StubServer.StubResponse.ok(supply);
+    }
+
+    // The last weightings of a bovine are searched with its tag in the body
+    private StubServer.StubResponse searchWeightings(DatedList<Weighing> weightings, StubServer.StubRequest request) throws IOException {
+        JsonNode filter = request.getBody().isEmpty() ? null : mapper.readTree(request.getBody());
+        if (filter != null && filter.hasNonNull("bovineTag")) {
+            List<Weighing> last = data.getLastWeightingsByTag().get(filter.get("bovineTag").asText());
+            return StubServer.StubResponse.ok(last == null ? Collections.emptyList() : last);
+        }
+        return weightings.page(request, "executionDateFrom");
+    }
+
+    private static StubServer.StubResponse page(List<?> elements, StubServer.StubRequest request) {
+        int size = Math.max(1, request.getIntParameter("size", DEFAULT_PAGE_SIZE));
+        int page = Math.max(0, request.getIntParameter("page", 0));
+        int from = (int) Math.min((long) page * size, elements.size());
+        int to = (int) Math.min((long) from + size, elements.size());
+        int totalPages = (elements.size() + size - 1) / size;
+        return StubServer.StubResponse.page(elements.subList(from, to), totalPages);
+    }
+
+    /**
+     * Records sorted by date, so the ones from a date on are found by a binary search instead of a scan per page.
+     */
+    private static class DatedList<T> {
+        private final List<T> elements;
+        private final long[] times;
+
+        private DatedList(List<T> elements, Function<T, Date> date) {
+            this.elements = new ArrayList<>(elements);
+            this.elements.sort(Comparator.comparing(element -> date.apply(element).getTime()));
+            this.times = new long[this.elements.size()];
+            for (int index = 0; index < times.length; index++) {
+                times[index] = date.apply(this.elements.get(index)).getTime();
+            }
+        }
+
+        private StubServer.StubResponse page(StubServer.StubRequest request, String dateFromParameter) {
+            String dateFrom = request.getQuery().get(dateFromParameter);
+            if (dateFrom == null) {
+                return UpstreamStubs.page(elements, request);
+            }
+            long from = LocalDate.parse(dateFrom).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            int index = Arrays.binarySearch(times, from);
+            if (index < 0) {
+                index = -index - 1;
+            } else {
+                while (index > 0 && times[index - 1] == from) {
+                    index--;
+                }
+            }
+            return UpstreamStubs.page(elements.subList(index, elements.size()), request);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.cema.administration.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String CLIENT_EXECUTOR = "clientExecutor";
+    public static final String PAGE_EXECUTOR = "pageExecutor";
+    private static final String CLIENT_THREAD_POOL = "clientThreadPool";
+
+    @Bean(name = CLIENT_THREAD_POOL)
+    public ThreadPoolTaskExecutor clientThreadPool(MeterRegistry meterRegistry,
+                                                   @Value("${back-end.executor.core-size:8}") int coreSize,
+                                                   @Value("${back-end.executor.max-size:16}") int maxSize,
+                                                   @Value("${back-end.executor.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("back-end-client-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), CLIENT_EXECUTOR,
+                Collections.<Tag>emptyList()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    @Bean(name = CLIENT_EXECUTOR)
+    public DelegatingSecurityContextAsyncTaskExecutor clientExecutor(
+            @Qualifier(CLIENT_THREAD_POOL) ThreadPoolTaskExecutor clientThreadPool) {
+        return new DelegatingSecurityContextAsyncTaskExecutor(clientThreadPool);
+    }
+
+    // Kept apart from the client pool, whose tasks wait for the pages read ahead of them
+    @Bean(name = PAGE_EXECUTOR)
+    public ThreadPoolTaskExecutor pageExecutor(MeterRegistry meterRegistry,
+                                              @Value("${back-end.paging.executor.core-size:4}") int coreSize,
+                                              @Value("${back-end.paging.executor.max-size:8}") int maxSize,
+                                              @Value("${back-end.paging.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("back-end-page-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), PAGE_EXECUTOR,
+                Collections.<Tag>emptyList()).bindTo(meterRegistry);
+        return executor;
+    }
+}
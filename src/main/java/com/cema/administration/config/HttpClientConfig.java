@@ -0,0 +1,88 @@
+package com.cema.administration.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Slf4j
+public class HttpClientConfig {
+
+    private static final String[] UPSTREAMS = {"users", "bovine", "activity", "economic", "health"};
+
+    @Bean
+    public PoolingHttpClientConnectionManager connectionManager(Environment environment, MeterRegistry meterRegistry,
+                                                                @Value("${back-end.http.max-total:100}") int maxTotal,
+                                                                @Value("${back-end.http.max-per-route:20}") int maxPerRoute,
+                                                                @Value("${back-end.http.validate-after-inactivity:2000}") int validateAfterInactivity) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+
+        for (String upstream : UPSTREAMS) {
+            String url = environment.getProperty("back-end." + upstream + ".url");
+            if (url == null) {
+                continue;
+            }
+            int maxConnections = environment.getProperty("back-end." + upstream + ".max-connections", Integer.class, maxPerRoute);
+            HttpHost host = toHttpHost(url);
+            // The route of a secure host is a different pool entry than the plain one
+            HttpRoute route = new HttpRoute(host, null, "https".equalsIgnoreCase(host.getSchemeName()));
+            connectionManager.setMaxPerRoute(route, maxConnections);
+            log.info("Http pool for {} at {} allows {} connections", upstream, route.getTargetHost(), maxConnections);
+        }
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "back-end").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+                                          @Value("${back-end.http.connect-timeout:2000}") int connectTimeout,
+                                          @Value("${back-end.http.read-timeout:30000}") int readTimeout,
+                                          @Value("${back-end.http.connection-request-timeout:2000}") int connectionRequestTimeout,
+                                          @Value("${back-end.http.keep-alive:30000}") long keepAlive,
+                                          @Value("${back-end.http.idle-timeout:60000}") long idleTimeout) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(readTimeout)
+                .setConnectionRequestTimeout(connectionRequestTimeout)
+                .build();
+
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : keepAlive;
+        };
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private HttpHost toHttpHost(String url) {
+        URI uri = URI.create(url);
+        String scheme = uri.getScheme() != null ? uri.getScheme() : "http";
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(scheme) ? 443 : 80);
+        return new HttpHost(uri.getHost(), port, scheme);
+    }
+}
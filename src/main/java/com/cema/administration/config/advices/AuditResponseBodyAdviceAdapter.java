@@ -2,7 +2,7 @@ package com.cema.administration.config.advices;
 
 import com.cema.administration.domain.CemaUserDetails;
 import com.cema.administration.entities.CemaAudit;
-import com.cema.administration.repositories.AuditRepository;
+import com.cema.administration.services.audit.AuditWriterService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.ByteSource;
@@ -30,11 +30,11 @@ import java.util.Date;
 @Slf4j
 public class AuditResponseBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
 
-    private final AuditRepository auditRepository;
+    private final AuditWriterService auditWriterService;
     private final ObjectMapper mapper = new ObjectMapper();
 
-    public AuditResponseBodyAdviceAdapter(AuditRepository auditRepository) {
-        this.auditRepository = auditRepository;
+    public AuditResponseBodyAdviceAdapter(AuditWriterService auditWriterService) {
+        this.auditWriterService = auditWriterService;
     }
 
     @Override
@@ -99,8 +99,7 @@ public class AuditResponseBodyAdviceAdapter implements ResponseBodyAdvice<Object
             cemaAudit.setRequestorUsername(cemaUserDetails.getUsername());
             cemaAudit.setEstablishmentCuig(cemaUserDetails.getCuig());
 
-
-            auditRepository.save(cemaAudit);
+            auditWriterService.write(cemaAudit);
         }
         return body;
     }
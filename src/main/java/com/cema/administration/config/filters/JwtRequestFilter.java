@@ -2,17 +2,14 @@ package com.cema.administration.config.filters;
 
 import com.cema.administration.domain.CemaUserDetails;
 import com.cema.administration.domain.User;
+import com.cema.administration.services.authentication.UserAuthenticationService;
 import io.micrometer.core.instrument.util.StringUtils;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import javax.servlet.FilterChain;
@@ -27,12 +24,10 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
 
-    private final RestTemplate restTemplate;
-    private final String url;
+    private final UserAuthenticationService userAuthenticationService;
 
-    public JwtRequestFilter(RestTemplate restTemplate, @Value("${back-end.users.url}") String url) {
-        this.restTemplate = restTemplate;
-        this.url = url;
+    public JwtRequestFilter(UserAuthenticationService userAuthenticationService) {
+        this.userAuthenticationService = userAuthenticationService;
     }
 
     @Override
@@ -41,10 +36,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         final String requestTokenHeader = request.getHeader(AUTHORIZATION_HEADER);
         if (StringUtils.isNotEmpty(requestTokenHeader)) {
-            HttpHeaders httpHeaders = new HttpHeaders();
-            httpHeaders.add(AUTHORIZATION_HEADER, requestTokenHeader);
-            HttpEntity entity = new HttpEntity(httpHeaders);
-            User user = restTemplate.postForObject(url, entity, User.class);
+            User user = userAuthenticationService.authenticate(requestTokenHeader);
 
             if (user != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 GrantedAuthority grantedAuthority = new SimpleGrantedAuthority(user.getRole());
@@ -0,0 +1,7 @@
+package com.cema.administration.constants;
+
+public enum AuditOverflowPolicy {
+    BLOCK,
+    DROP,
+    SPILL
+}
@@ -0,0 +1,27 @@
+package com.cema.administration.constants;
+
+/**
+ * The yearly reports. Incremental reports only aggregate dated records, so once a year is closed its aggregates are
+ * kept between refreshes; the others depend on the current herd, batches, categories or prices and are recomputed
+ * whole.
+ */
+public enum ReportType {
+    PREGNANCY(true),
+    DISEASE(true),
+    WEIGHT(true),
+    BATCH(false),
+    FEED(false),
+    PERFORMANCE(false),
+    LIVE(false),
+    INCOME(false);
+
+    private final boolean incremental;
+
+    ReportType(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+}
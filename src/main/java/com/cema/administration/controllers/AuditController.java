@@ -2,8 +2,10 @@ package com.cema.administration.controllers;
 
 import com.cema.administration.constants.Messages;
 import com.cema.administration.domain.audit.Audit;
+import com.cema.administration.domain.audit.AuditCursor;
 import com.cema.administration.entities.CemaAudit;
 import com.cema.administration.exceptions.UnauthorizedException;
+import com.cema.administration.exceptions.ValidationException;
 import com.cema.administration.mapping.RegularMappingService;
 import com.cema.administration.repositories.AuditRepository;
 import com.cema.administration.services.authorization.AuthorizationService;
@@ -14,6 +16,7 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.ResponseHeader;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,6 +24,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -31,6 +35,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -45,11 +50,14 @@ public class AuditController {
     private final AuditRepository auditRepository;
     private final RegularMappingService<CemaAudit, Audit> auditMappingService;
     private final AuthorizationService authorizationService;
+    private final int maxBatchSize;
 
-    public AuditController(AuditRepository auditRepository, RegularMappingService<CemaAudit, Audit> auditMappingService, AuthorizationService authorizationService) {
+    public AuditController(AuditRepository auditRepository, RegularMappingService<CemaAudit, Audit> auditMappingService,
+                           AuthorizationService authorizationService, @Value("${audit.batch.max-size:1000}") int maxBatchSize) {
         this.auditRepository = auditRepository;
         this.auditMappingService = auditMappingService;
         this.authorizationService = authorizationService;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @ApiOperation(value = "Register a new audit entry")
@@ -71,11 +79,50 @@ public class AuditController {
 
         CemaAudit newAudit = auditMappingService.mapDomainToEntity(audit);
 
+        // Saved before answering, the callers rely on it being stored
         auditRepository.save(newAudit);
 
         return ResponseEntity.noContent().build();
     }
 
+    @ApiOperation(value = "Register a batch of audit entries")
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Audits created successfully"),
+            @ApiResponse(code = 401, message = "Cannot audit outside users cuig"),
+            @ApiResponse(code = 422, message = "Too many audits in the batch, or an audit without cuig")
+    })
+    @PostMapping(value = BASE_URL + "batch", produces = {MediaType.APPLICATION_JSON_VALUE}, consumes = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> registerAudits(
+            @ApiParam(
+                    value = "Audit entries to be inserted.")
+            @RequestBody List<Audit> audits) {
+
+        log.info("Request to register {} audits", audits.size());
+        if (audits.size() > maxBatchSize) {
+            throw new ValidationException(String.format("Cannot register more than %d audits at once", maxBatchSize));
+        }
+
+        Set<String> cuigs = audits.stream()
+                .map(Audit::getEstablishmentCuig)
+                .collect(Collectors.toSet());
+        if (cuigs.stream().anyMatch(cuig -> !StringUtils.hasText(cuig))) {
+            throw new ValidationException("Every audit in the batch needs an establishment cuig");
+        }
+        for (String cuig : cuigs) {
+            if (!authorizationService.isOnTheSameEstablishment(cuig)) {
+                throw new UnauthorizedException(String.format(Messages.OUTSIDE_ESTABLISHMENT, cuig));
+            }
+        }
+
+        List<CemaAudit> newAudits = audits.stream()
+                .map(auditMappingService::mapDomainToEntity)
+                .collect(Collectors.toList());
+
+        auditRepository.saveAll(newAudits);
+
+        return ResponseEntity.noContent().build();
+    }
+
     @ApiOperation(value = "Retrieve audits for your cuig", response = Audit.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Listed all audits", responseHeaders = {
@@ -117,4 +164,69 @@ public class AuditController {
 
         return ResponseEntity.ok().headers(responseHeaders).body(audits);
     }
+
+    @ApiOperation(value = "Retrieve audits for your cuig using a cursor instead of page numbers", response = Audit.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Listed the audits after the cursor", responseHeaders = {
+                    @ResponseHeader(name = "next-cursor", response = String.class, description = "The cursor for the next page, absent on the last page"),
+                    @ResponseHeader(name = "total-elements", response = String.class, description = "Number of audits, estimated for admins, only sent when count is requested")
+            }),
+            @ApiResponse(code = 422, message = "Invalid cursor or page size")
+    })
+    @GetMapping(value = BASE_URL + "scroll", produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<List<Audit>> scrollAudits(
+            @ApiParam(
+                    value = "The next-cursor header of the previous page, empty for the first page.")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @ApiParam(
+                    value = "The maximum number of audit entries to return per page.",
+                    example = "10")
+            @RequestParam(value = "size", required = false, defaultValue = "10") int size,
+            @ApiParam(
+                    value = "Whether to send the total-elements header.",
+                    example = "false")
+            @RequestParam(value = "count", required = false, defaultValue = "false") boolean count) {
+
+        if (size <= 0) {
+            throw new ValidationException(String.format("The page size must be positive, got %d", size));
+        }
+        String cuig = authorizationService.getCurrentUserCuig();
+        boolean isAdmin = authorizationService.isAdmin();
+        AuditCursor auditCursor = StringUtils.hasText(cursor) ? AuditCursor.decode(cursor) : null;
+
+        List<CemaAudit> cemaAudits;
+        if (isAdmin) {
+            if (auditCursor == null) {
+                cemaAudits = auditRepository.findFirstKeysetPage(size);
+            } else if (auditCursor.getAuditDate() == null) {
+                cemaAudits = auditRepository.findUndatedKeysetPageAfter(auditCursor.getId(), size);
+            } else {
+                cemaAudits = auditRepository.findKeysetPageAfter(auditCursor.getAuditDate(), auditCursor.getId(), size);
+            }
+        } else {
+            if (auditCursor == null) {
+                cemaAudits = auditRepository.findFirstKeysetPageByEstablishmentCuig(cuig, size);
+            } else if (auditCursor.getAuditDate() == null) {
+                cemaAudits = auditRepository.findUndatedKeysetPageByEstablishmentCuigAfter(cuig, auditCursor.getId(), size);
+            } else {
+                cemaAudits = auditRepository.findKeysetPageByEstablishmentCuigAfter(cuig, auditCursor.getAuditDate(),
+                        auditCursor.getId(), size);
+            }
+        }
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        if (cemaAudits.size() == size) {
+            responseHeaders.set("next-cursor", AuditCursor.from(cemaAudits.get(cemaAudits.size() - 1)).encode());
+        }
+        if (count) {
+            long totalElements = isAdmin ? auditRepository.estimateCount() : auditRepository.countByEstablishmentCuig(cuig);
+            responseHeaders.set("total-elements", String.valueOf(totalElements));
+        }
+
+        List<Audit> audits = cemaAudits.stream()
+                .map(auditMappingService::mapEntityToDomain)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok().headers(responseHeaders).body(audits);
+    }
 }
@@ -15,16 +15,23 @@ import com.cema.administration.mapping.UpdateMappingService;
 import com.cema.administration.mapping.impl.SubscriptionMappingService;
 import com.cema.administration.repositories.EstablishmentRepository;
 import com.cema.administration.repositories.SubscriptionRepository;
-import com.cema.administration.repositories.SubscriptionTypeRepository;
 import com.cema.administration.services.authorization.AuthorizationService;
+import com.cema.administration.services.subscription.SubscriptionTypeCatalogueService;
+import com.cema.administration.services.validation.EstablishmentValidationCacheService;
 import com.cema.administration.services.validation.EstablishmentValidationService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import io.swagger.annotations.ResponseHeader;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -61,17 +68,19 @@ public class EstablishmentController {
     private final AuthorizationService authorizationService;
     private final EstablishmentValidationService establishmentValidationService;
     private final SubscriptionMappingService subscriptionMappingService;
-    private final SubscriptionTypeRepository subscriptionTypeRepository;
+    private final SubscriptionTypeCatalogueService subscriptionTypeCatalogueService;
     private final SubscriptionRepository subscriptionRepository;
+    private final EstablishmentValidationCacheService establishmentValidationCacheService;
 
-    public EstablishmentController(EstablishmentRepository establishmentRepository, UpdateMappingService<CemaEstablishment, Establishment> establishmentMappingService, AuthorizationService authorizationService, EstablishmentValidationService establishmentValidationService, SubscriptionMappingService subscriptionMappingService, SubscriptionTypeRepository subscriptionTypeRepository, SubscriptionRepository subscriptionRepository) {
+    public EstablishmentController(EstablishmentRepository establishmentRepository, UpdateMappingService<CemaEstablishment, Establishment> establishmentMappingService, AuthorizationService authorizationService, EstablishmentValidationService establishmentValidationService, SubscriptionMappingService subscriptionMappingService, SubscriptionTypeCatalogueService subscriptionTypeCatalogueService, SubscriptionRepository subscriptionRepository, EstablishmentValidationCacheService establishmentValidationCacheService) {
         this.establishmentRepository = establishmentRepository;
         this.establishmentMappingService = establishmentMappingService;
         this.authorizationService = authorizationService;
         this.establishmentValidationService = establishmentValidationService;
         this.subscriptionMappingService = subscriptionMappingService;
-        this.subscriptionTypeRepository = subscriptionTypeRepository;
+        this.subscriptionTypeCatalogueService = subscriptionTypeCatalogueService;
         this.subscriptionRepository = subscriptionRepository;
+        this.establishmentValidationCacheService = establishmentValidationCacheService;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -129,8 +138,7 @@ public class EstablishmentController {
             throw new NotFoundException(String.format("Establishment with cuig %s doesn't exits", cuig));
         }
 
-        List<CemaSubscriptionType> cemaSubscriptionTypes = subscriptionTypeRepository.findAllByNameIgnoreCase(name);
-        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = cemaSubscriptionTypes.stream().max(Comparator.comparing(CemaSubscriptionType::getCreationDate));
+        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = subscriptionTypeCatalogueService.getLatestSubscriptionType(name);
         if (!cemaSubscriptionTypeOptional.isPresent()) {
             throw new NotFoundException(String.format("SubscriptionType with name %s doesn't exits", name));
         }
@@ -151,6 +159,22 @@ public class EstablishmentController {
 
         subscriptionRepository.save(cemaSubscription);
 
+        // The latest started subscription is the active one, the new one winning ties like the backfill of 003
+        CemaSubscription latestSubscription = cemaSubscription;
+        if (cemaEstablishment.getSubscriptions() != null) {
+            for (CemaSubscription subscription : cemaEstablishment.getSubscriptions()) {
+                if (subscription.getStartingDate() != null && subscription.getStartingDate().after(latestSubscription.getStartingDate())) {
+                    latestSubscription = subscription;
+                }
+            }
+        }
+        if (latestSubscription != cemaEstablishment.getActiveSubscription()) {
+            cemaEstablishment.setActiveSubscription(latestSubscription);
+            cemaEstablishment.setActiveUntil(subscriptionMappingService.getEndingDate(latestSubscription));
+            establishmentRepository.save(cemaEstablishment);
+        }
+        establishmentValidationCacheService.invalidate(cuig);
+
         Establishment establishment = establishmentMappingService.mapEntityToDomain(cemaEstablishment);
 
         return new ResponseEntity<>(establishment, HttpStatus.OK);
@@ -176,13 +200,7 @@ public class EstablishmentController {
             throw new UnauthorizedException(String.format(Messages.OUTSIDE_ESTABLISHMENT, cuig));
         }
 
-        CemaEstablishment cemaEstablishment = establishmentRepository.findCemaEstablishmentByCuig(cuig);
-        if (cemaEstablishment == null) {
-            throw new NotFoundException(String.format("Establishment with cuig %s doesn't exits", cuig));
-        }
-        Establishment establishment = establishmentMappingService.mapEntityToDomain(cemaEstablishment);
-
-        establishmentValidationService.validateEstablishmentForUsage(establishment);
+        establishmentValidationCacheService.validateEstablishment(cuig);
 
         return ResponseEntity.noContent().build();
     }
@@ -282,6 +300,7 @@ public class EstablishmentController {
         cemaEstablishment = establishmentMappingService.updateDomainWithEntity(establishment, cemaEstablishment);
 
         establishmentRepository.save(cemaEstablishment);
+        establishmentValidationCacheService.invalidate(cuig);
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
@@ -306,6 +325,7 @@ public class EstablishmentController {
         if (establishment != null) {
             log.info("Establishment exists, deleting");
             establishmentRepository.delete(establishment);
+            establishmentValidationCacheService.invalidate(cuig);
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
         log.info("Not found");
@@ -315,17 +335,49 @@ public class EstablishmentController {
     @PreAuthorize("hasRole('ADMIN')")
     @ApiOperation(value = "Retrieve all establishments", response = Establishment.class)
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "Listed all establishments")
+            @ApiResponse(code = 200, message = "Listed all establishments", responseHeaders = {
+                    @ResponseHeader(name = "total-elements", response = String.class, description = "Total number of search results"),
+                    @ResponseHeader(name = "total-pages", response = String.class, description = "Total number of pages to navigate"),
+                    @ResponseHeader(name = "current-page", response = String.class, description = "The page being returned, zero indexed")
+            }),
+            @ApiResponse(code = 422, message = "Invalid page size")
     })
     @GetMapping(value = BASE_URL + "list", produces = {MediaType.APPLICATION_JSON_VALUE})
-    public ResponseEntity<List<Establishment>> listEstablishments() {
+    public ResponseEntity<List<Establishment>> listEstablishments(
+            @ApiParam(
+                    value = "The page you want to retrieve, when a size is given.",
+                    example = "1")
+            @RequestParam(value = "page", required = false, defaultValue = "0") int page,
+            @ApiParam(
+                    value = "The maximum number of establishments to return per page, all of them when absent.",
+                    example = "10")
+            @RequestParam(value = "size", required = false) Integer size) {
 
         List<CemaEstablishment> cemaEstablishments;
-        cemaEstablishments = establishmentRepository.findAll();
+        HttpHeaders responseHeaders = new HttpHeaders();
+        if (size == null) {
+            // Clients that predate paging expect every establishment
+            cemaEstablishments = establishmentRepository.findAllWithActiveSubscription(Sort.by("name"));
+            responseHeaders.set("total-elements", String.valueOf(cemaEstablishments.size()));
+            responseHeaders.set("total-pages", "1");
+            responseHeaders.set("current-page", "0");
+        } else {
+            if (size <= 0) {
+                throw new ValidationException(String.format("The page size must be positive, got %d", size));
+            }
+            Pageable paging = PageRequest.of(page, size, Sort.by("name"));
+
+            Page<CemaEstablishment> cemaEstablishmentPage = establishmentRepository.findAllWithActiveSubscription(paging);
+
+            cemaEstablishments = cemaEstablishmentPage.getContent();
+            responseHeaders.set("total-elements", String.valueOf(cemaEstablishmentPage.getTotalElements()));
+            responseHeaders.set("total-pages", String.valueOf(cemaEstablishmentPage.getTotalPages()));
+            responseHeaders.set("current-page", String.valueOf(cemaEstablishmentPage.getNumber()));
+        }
 
         List<Establishment> establishments = cemaEstablishments.stream().map(establishmentMappingService::mapEntityToDomain).collect(Collectors.toList());
 
-        return new ResponseEntity<>(establishments, HttpStatus.OK);
+        return ResponseEntity.ok().headers(responseHeaders).body(establishments);
     }
 
 }
@@ -1,15 +1,6 @@
 package com.cema.administration.controllers;
 
-import com.cema.administration.constants.OperationType;
-import com.cema.administration.domain.activity.Feeding;
-import com.cema.administration.domain.activity.Ultrasound;
-import com.cema.administration.domain.activity.Weighing;
-import com.cema.administration.domain.bovine.Batch;
-import com.cema.administration.domain.bovine.Bovine;
-import com.cema.administration.domain.economic.BovineOperation;
-import com.cema.administration.domain.economic.Supply;
-import com.cema.administration.domain.economic.SupplyOperation;
-import com.cema.administration.domain.health.Illness;
+import com.cema.administration.constants.ReportType;
 import com.cema.administration.domain.report.Disease;
 import com.cema.administration.domain.report.FoodConsumption;
 import com.cema.administration.domain.report.Income;
@@ -18,10 +9,8 @@ import com.cema.administration.domain.report.LiveCost;
 import com.cema.administration.domain.report.Pregnancy;
 import com.cema.administration.domain.report.Weight;
 import com.cema.administration.domain.report.YearlyReport;
-import com.cema.administration.services.client.activity.impl.ActivityClientServiceImpl;
-import com.cema.administration.services.client.bovine.BovineClientService;
-import com.cema.administration.services.client.economic.EconomicClientService;
-import com.cema.administration.services.client.health.HealthClientService;
+import com.cema.administration.exceptions.ValidationException;
+import com.cema.administration.services.report.ReportService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -33,20 +22,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/v1")
@@ -58,17 +43,52 @@ public class ReportingController {
 
     private final Logger LOG = LoggerFactory.getLogger(ReportingController.class);
 
-    private final ActivityClientServiceImpl activityClientService;
-    private final BovineClientService bovineClientService;
-    private final HealthClientService healthClientService;
-    private final EconomicClientService economicClientService;
-
-    public ReportingController(ActivityClientServiceImpl activityClientService, BovineClientService bovineClientService,
-                               HealthClientService healthClientService, EconomicClientService economicClientService) {
-        this.activityClientService = activityClientService;
-        this.bovineClientService = bovineClientService;
-        this.healthClientService = healthClientService;
-        this.economicClientService = economicClientService;
+    private final ReportService reportService;
+
+    public ReportingController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @PreAuthorize("hasRole('PATRON')")
+    @ApiOperation(value = "Get several reports at once, computed from the same upstream data", response = YearlyReport.class, responseContainer = "List")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Reports returned."),
+            @ApiResponse(code = 401, message = "You are not allowed to get these reports"),
+            @ApiResponse(code = 422, message = "Unknown report type")
+    })
+    @GetMapping(value = BASE_URL + "/all", produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<List<YearlyReport>> getAllReports(
+            @ApiParam(
+                    value = "The reports to return, all of them when empty.",
+                    example = "pregnancy,weight,income")
+            @RequestParam(value = "types", required = false) List<String> types,
+            @ApiParam(
+                    value = "The year when the reports start.",
+                    example = "2017")
+            @RequestParam(value = "yearFrom", required = false, defaultValue = "-1") int yearFrom,
+            @ApiParam(
+                    value = "The year when the reports end",
+                    example = "2021")
+            @RequestParam(value = "yearTo", required = false, defaultValue = "-1") int yearTo) {
+
+        LOG.info("Request to create reports {}", types);
+
+        Set<ReportType> reportTypes = EnumSet.noneOf(ReportType.class);
+        if (types == null || types.isEmpty()) {
+            reportTypes.addAll(EnumSet.allOf(ReportType.class));
+        } else {
+            for (String type : types) {
+                try {
+                    reportTypes.add(ReportType.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException illegalArgumentException) {
+                    throw new ValidationException(String.format("Unknown report type %s", type));
+                }
+            }
+        }
+
+        List<YearlyReport> reports = reportService.getReports(reportTypes, yearFrom, yearTo);
+
+        return new ResponseEntity<>(reports, HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('PATRON')")
@@ -90,44 +110,9 @@ public class ReportingController {
 
         LOG.info("Request to create pregnancy report");
 
-        Map<Integer, Integer> positives = new HashMap<>();
-        Map<Integer, Integer> total = new HashMap<>();
-
-        List<Ultrasound> ultrasounds = activityClientService.getAllUltrasounds();
-
-        ultrasounds = ultrasounds.stream()
-                .filter(ultrasound -> StringUtils.hasText(ultrasound.getResult()))
-                .collect(Collectors.toList());
-
-        for (Ultrasound ultrasound : ultrasounds) {
-            Integer year = ultrasound.getExecutionYear();
-            int totalCount = total.getOrDefault(year, 0);
-            int positivesCount = positives.getOrDefault(year, 0);
-            totalCount++;
-            total.put(year, totalCount);
-            if ("positivo".equalsIgnoreCase(ultrasound.getResult()) || "positive".equalsIgnoreCase(ultrasound.getResult())) {
-                positivesCount++;
-            }
-            positives.put(year, positivesCount);
-        }
-
-        YearlyReport pregnancy = new YearlyReport();
-        pregnancy.setType("pregnancy");
-        pregnancy.setDescription("Porcentaje de vacas preñadas por año");
-        pregnancy.setReportedList(new ArrayList<>());
-
-        for (Integer year : total.keySet()) {
-            float totalCount = total.get(year);
-            float positivesCount = positives.get(year);
-            Float percentage = (positivesCount / totalCount) * 100;
-            pregnancy.getReportedList().add(new Pregnancy(year, percentage));
-        }
-
-        pregnancy.filterByYear(yearFrom, yearTo);
-
-        pregnancy.getReportedList().sort(null);
+        YearlyReport report = reportService.getReport(ReportType.PREGNANCY, yearFrom, yearTo);
 
-        return new ResponseEntity<>(pregnancy, HttpStatus.OK);
+        return new ResponseEntity<>(report, HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('PATRON')")
@@ -149,31 +134,9 @@ public class ReportingController {
 
         LOG.info("Request to create disease report");
 
-        List<Illness> illnesses = healthClientService.getAllBovineIllness();
-        Map<String, Disease> reports = new HashMap<>();
-
-        for (Illness illness : illnesses) {
-            String diseaseName = illness.getDiseaseName();
-            int year = illness.getStartingDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().getYear();
-            String key = diseaseName + year;
-
-            Disease disease = reports.containsKey(key) ? reports.get(key) : new Disease(year, 0, diseaseName);
-            disease.addOne();
-            reports.put(key, disease);
-        }
-
-        YearlyReport diseaseReport = YearlyReport.builder()
-                .type("disease")
-                .description("Cantidad de infecciones anuales por tipo")
-                .build();
-
-        diseaseReport.setReportedList(new ArrayList<>(reports.values()));
-
-        diseaseReport.filterByYear(yearFrom, yearTo);
-
-        diseaseReport.getReportedList().sort(null);
+        YearlyReport report = reportService.getReport(ReportType.DISEASE, yearFrom, yearTo);
 
-        return new ResponseEntity<>(diseaseReport, HttpStatus.OK);
+        return new ResponseEntity<>(report, HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('PATRON')")
@@ -195,46 +158,9 @@ public class ReportingController {
 
         LOG.info("Request to create weight report");
 
-        List<Weighing> weightings = activityClientService.getAllWeightings();
-        weightings = weightings.stream()
-                .filter(weighing -> StringUtils.hasText(weighing.getCategory()))
-                .filter(weighing -> weighing.getWeight() != null)
-                .collect(Collectors.toList());
-
-        Map<String, Weight> totalWeights = new HashMap<>();
-        Map<String, Integer> totals = new HashMap<>();
-
-        for (Weighing weighing : weightings) {
-            String category = weighing.getCategory().toLowerCase(Locale.ROOT);
-            Integer year = weighing.getExecutionYear();
-            Long weight = weighing.getWeightSafely();
-            String key = category + year;
-
-            int totalCount = totals.getOrDefault(key, 0);
-            Weight totalWeight = totalWeights.getOrDefault(key, new Weight(year, 0L, category));
-            totalCount++;
-            totals.put(key, totalCount);
-            totalWeight.setWeight(totalWeight.getWeight() + weight);
-            totalWeights.put(key, totalWeight);
-        }
-
-        YearlyReport weightReport = new YearlyReport();
-        weightReport.setType("weight");
-        weightReport.setDescription("Peso promedio anual por categoria");
-        weightReport.setReportedList(new ArrayList<>());
-
-        for (String key : totalWeights.keySet()) {
-            Weight weight = totalWeights.get(key);
-            Integer total = totals.get(key);
-            weight.setWeight(weight.getWeight() / total);
-            weightReport.getReportedList().add(weight);
-        }
-
-        weightReport.filterByYear(yearFrom, yearTo);
-
-        weightReport.getReportedList().sort(null);
+        YearlyReport report = reportService.getReport(ReportType.WEIGHT, yearFrom, yearTo);
 
-        return new ResponseEntity<>(weightReport, HttpStatus.OK);
+        return new ResponseEntity<>(report, HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('PATRON')")
@@ -256,52 +182,9 @@ public class ReportingController {
 
         LOG.info("Request to create batch report");
 
-        List<Batch> batches = bovineClientService.getAllBatches();
+        YearlyReport report = reportService.getReport(ReportType.BATCH, yearFrom, yearTo);
 
-        Map<String, Weight> totalWeights = new HashMap<>();
-        Map<String, Integer> totals = new HashMap<>();
-
-        for (Batch batch : batches) {
-            List<String> bovineTags = batch.getBovineTags();
-            String batchName = batch.getBatchName();
-
-            List<Bovine> bovines = bovineClientService.getAllBovinesFromList(bovineTags);
-            for (Bovine bovine : bovines) {
-                List<Weighing> weightings = activityClientService.getLastWeightingsForBovine(bovine.getTag());
-
-                for (Weighing weighing : weightings) {
-                    int year = weighing.getExecutionYear();
-                    long weight = weighing.getWeightSafely();
-
-                    String key = batchName + year;
-
-                    int totalCount = totals.getOrDefault(key, 0);
-                    Weight totalWeight = totalWeights.getOrDefault(key, new Weight(year, 0L, batchName));
-                    totalCount++;
-                    totals.put(key, totalCount);
-                    totalWeight.setWeight(totalWeight.getWeight() + weight);
-                    totalWeights.put(key, totalWeight);
-                }
-            }
-        }
-
-        YearlyReport batch = new YearlyReport();
-        batch.setType("batch");
-        batch.setDescription("Peso promedio anual por batch");
-        batch.setReportedList(new ArrayList<>());
-
-        for (String key : totalWeights.keySet()) {
-            Weight weight = totalWeights.get(key);
-            Integer total = totals.get(key);
-            weight.setWeight(weight.getWeight() / total);
-            batch.getReportedList().add(weight);
-        }
-
-        batch.filterByYear(yearFrom, yearTo);
-
-        batch.getReportedList().sort(null);
-
-        return new ResponseEntity<>(batch, HttpStatus.OK);
+        return new ResponseEntity<>(report, HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('PATRON')")
@@ -323,39 +206,9 @@ public class ReportingController {
 
         LOG.info("Request to create feed report");
 
-        List<Feeding> feedings = activityClientService.getAllFeedings();
-
-        Map<String, FoodConsumption> reports = new HashMap<>();
-
-        for (Feeding feeding : feedings) {
-            int year = feeding.getExecutionYear();
-            long foodEaten = feeding.getAmountSafely();
-            String tag = feeding.getBovineTag();
-
-            Bovine bovine = bovineClientService.getBovine(tag);
-            if(bovine != null) {
-                String category = bovine.getCategory();
-                String key = category + year;
-
-                FoodConsumption foodConsumption = reports.containsKey(key) ? reports.get(key)
-                        : new FoodConsumption(year, 0L, category);
-                foodConsumption.setFoodEaten(foodConsumption.getFoodEaten() + foodEaten);
-                reports.put(key, foodConsumption);
-            }
-        }
-
-        YearlyReport foodConsumption = YearlyReport.builder()
-                .type("foodConsumption")
-                .description("Alimento consumido anualmente por categoria")
-                .build();
-
-        foodConsumption.setReportedList(new ArrayList<>(reports.values()));
-
-        foodConsumption.filterByYear(yearFrom, yearTo);
-
-        foodConsumption.getReportedList().sort(null);
+        YearlyReport report = reportService.getReport(ReportType.FEED, yearFrom, yearTo);
 
-        return new ResponseEntity<>(foodConsumption, HttpStatus.OK);
+        return new ResponseEntity<>(report, HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('PATRON')")
@@ -377,50 +230,9 @@ public class ReportingController {
 
         LOG.info("Request to create batch report");
 
-        List<Weighing> weighingList = activityClientService.getAllWeightings();
-        List<Feeding> feedingList = activityClientService.getAllFeedings();
+        YearlyReport report = reportService.getReport(ReportType.PERFORMANCE, yearFrom, yearTo);
 
-        Map<String, Long> weightByYear = new HashMap<>();
-        Map<String, Long> spendingByYear = new HashMap<>();
-
-        for (Weighing weighing : weighingList) {
-            String yearKey = String.valueOf(weighing.getExecutionYear());
-
-            long weight = weightByYear.getOrDefault(yearKey, 0L);
-            weight += weighing.getWeightSafely();
-            weightByYear.put(yearKey, weight);
-        }
-
-        for (Feeding feeding : feedingList) {
-            String yearKey = String.valueOf(feeding.getExecutionYear());
-            String foodName = feeding.getFood();
-            long foodAmount = feeding.getAmountSafely();
-            Supply supply = economicClientService.getSupply(foodName);
-            long price = supply.getPrice();
-
-            long spending = spendingByYear.getOrDefault(yearKey, 0L);
-            spending += foodAmount * price;
-            spendingByYear.put(yearKey, spending);
-        }
-
-        YearlyReport liveCost = new YearlyReport();
-        liveCost.setType("liveCost");
-        liveCost.setDescription("Rendimiento anual de la comida por kilogramo vivo");
-        liveCost.setReportedList(new ArrayList<>());
-
-        for (String key : weightByYear.keySet()) {
-            long weight = weightByYear.getOrDefault(key, 0L) ;
-            long spending = spendingByYear.getOrDefault(key, 0L);
-            double costXKg = weight != 0 ? (double) spending / weight : -1;
-            LiveCost report = new LiveCost(Integer.valueOf(key), weight, spending, costXKg);
-            liveCost.getReportedList().add(report);
-        }
-
-        liveCost.filterByYear(yearFrom, yearTo);
-
-        liveCost.getReportedList().sort(null);
-
-        return new ResponseEntity<>(liveCost, HttpStatus.OK);
+        return new ResponseEntity<>(report, HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('PATRON')")
@@ -442,31 +254,9 @@ public class ReportingController {
 
         LOG.info("Request to create live animals report");
 
-        List<Bovine> bovines = bovineClientService.getAllBovines();
-
-        Map<String, Live> reports = new HashMap<>();
-
-        for (Bovine bovine : bovines) {
-            String category = bovine.getCategory();
-            Integer year = bovine.getTaggingYear();
-            String key = category + year;
-
-            Live live = reports.containsKey(key) ? reports.get(key) : new Live(year, 0, category);
-            live.addOne();
-            reports.put(key, live);
-        }
-
-        YearlyReport liveReport = new YearlyReport();
-        liveReport.setType("live");
-        liveReport.setDescription("Cantidad de animales vivos por categoria por año");
-
-        liveReport.setReportedList(new ArrayList<>(reports.values()));
-
-        liveReport.filterByYear(yearFrom, yearTo);
+        YearlyReport report = reportService.getReport(ReportType.LIVE, yearFrom, yearTo);
 
-        liveReport.getReportedList().sort(null);
-
-        return new ResponseEntity<>(liveReport, HttpStatus.OK);
+        return new ResponseEntity<>(report, HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('PATRON')")
@@ -488,61 +278,9 @@ public class ReportingController {
 
         LOG.info("Request to create income report");
 
-        List<SupplyOperation> supplyOperations = economicClientService.getAllSupplyOperations();
-        List<BovineOperation> bovineOperations = economicClientService.getAllBovineOperations();
-
-        Map<String, Long> spendingByYear = new HashMap<>();
-        Map<String, Long> incomeByYear = new HashMap<>();
-
-        for (SupplyOperation supplyOperation : supplyOperations) {
-            String yearKey = String.valueOf(supplyOperation.getTransactionDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().getYear());
-            String supplyName = supplyOperation.getSupplyName();
-            Supply supply = economicClientService.getSupply(supplyName);
-
-            String type = supplyOperation.getOperationType();
-            long amount = supplyOperation.getAmount();
-            long price = supply.getPrice();
-            long cost = amount * price;
-            if (OperationType.BUY.equalsIgnoreCase(type)) {
-                long totalByYear = spendingByYear.getOrDefault(yearKey, 0L);
-                totalByYear += cost;
-                spendingByYear.put(yearKey, totalByYear);
-            }
-        }
-
-        for (BovineOperation bovineOperation : bovineOperations) {
-            long amount = bovineOperation.getAmount();
-            String type = bovineOperation.getOperationType();
-            String yearKey = String.valueOf(bovineOperation.getTransactionDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().getYear());
-
-            if (OperationType.BUY.equalsIgnoreCase(type)) {
-                long totalByYear = spendingByYear.getOrDefault(yearKey, 0L);
-                totalByYear += amount;
-                spendingByYear.put(yearKey, totalByYear);
-            } else if (OperationType.SELL.equalsIgnoreCase(type)) {
-                long totalByYear = incomeByYear.getOrDefault(yearKey, 0L);
-                totalByYear += amount;
-                incomeByYear.put(yearKey, totalByYear);
-            }
-        }
-
-        YearlyReport income = new YearlyReport();
-        income.setType("income");
-        income.setDescription("Gastos versus ingresos por año");
-        income.setReportedList(new ArrayList<>());
-
-        for (String key : incomeByYear.keySet()) {
-            long incomeAmount = incomeByYear.get(key);
-            long spendingAmount = spendingByYear.get(key);
-            Income incomeReport = new Income(Integer.valueOf(key), incomeAmount, spendingAmount);
-            income.getReportedList().add(incomeReport);
-        }
-
-        income.filterByYear(yearFrom, yearTo);
-
-        income.getReportedList().sort(null);
+        YearlyReport report = reportService.getReport(ReportType.INCOME, yearFrom, yearTo);
 
-        return new ResponseEntity<>(income, HttpStatus.OK);
+        return new ResponseEntity<>(report, HttpStatus.OK);
     }
 
-}
\ No newline at end of file
+}
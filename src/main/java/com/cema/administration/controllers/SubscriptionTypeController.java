@@ -9,6 +9,7 @@ import com.cema.administration.mapping.UpdateMappingService;
 import com.cema.administration.repositories.SubscriptionTypeRepository;
 import com.cema.administration.services.authorization.AuthorizationService;
 import com.cema.administration.services.database.DatabaseService;
+import com.cema.administration.services.subscription.SubscriptionTypeCatalogueService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -34,7 +35,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -53,12 +53,14 @@ public class SubscriptionTypeController {
     private final UpdateMappingService<CemaSubscriptionType, SubscriptionType> subscriptionTypeMappingService;
     private final DatabaseService databaseService;
     private final AuthorizationService authorizationService;
+    private final SubscriptionTypeCatalogueService subscriptionTypeCatalogueService;
 
-    public SubscriptionTypeController(SubscriptionTypeRepository subscriptionTypeRepository, UpdateMappingService<CemaSubscriptionType, SubscriptionType> subscriptionTypeMappingService, DatabaseService databaseService, AuthorizationService authorizationService) {
+    public SubscriptionTypeController(SubscriptionTypeRepository subscriptionTypeRepository, UpdateMappingService<CemaSubscriptionType, SubscriptionType> subscriptionTypeMappingService, DatabaseService databaseService, AuthorizationService authorizationService, SubscriptionTypeCatalogueService subscriptionTypeCatalogueService) {
         this.subscriptionTypeRepository = subscriptionTypeRepository;
         this.subscriptionTypeMappingService = subscriptionTypeMappingService;
         this.databaseService = databaseService;
         this.authorizationService = authorizationService;
+        this.subscriptionTypeCatalogueService = subscriptionTypeCatalogueService;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -76,8 +78,7 @@ public class SubscriptionTypeController {
 
         log.info("Request to register new subscriptionType");
 
-        List<CemaSubscriptionType> cemaSubscriptionTypes = subscriptionTypeRepository.findAllByNameIgnoreCase(subscriptionType.getName());
-        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = cemaSubscriptionTypes.stream().max(Comparator.comparing(CemaSubscriptionType::getCreationDate));
+        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = Optional.ofNullable(subscriptionTypeRepository.findLatestByName(subscriptionType.getName()));
         if (cemaSubscriptionTypeOptional.isPresent() && !cemaSubscriptionTypeOptional.get().isExpired()) {
             log.info("There is already an active SubscriptionType with that name");
             throw new AlreadyExistsException(String.format("TThere is already an active SubscriptionType with name %s", subscriptionType.getName()));
@@ -86,6 +87,7 @@ public class SubscriptionTypeController {
         CemaSubscriptionType newSubscriptionType = subscriptionTypeMappingService.mapDomainToEntity(subscriptionType);
 
         subscriptionTypeRepository.save(newSubscriptionType);
+        subscriptionTypeCatalogueService.invalidate(subscriptionType.getName());
 
         return new ResponseEntity<>(HttpStatus.CREATED);
     }
@@ -106,8 +108,7 @@ public class SubscriptionTypeController {
         log.info("Request for subscriptionType with {}", name);
 
 
-        List<CemaSubscriptionType> cemaSubscriptionTypes = subscriptionTypeRepository.findAllByNameIgnoreCase(name);
-        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = cemaSubscriptionTypes.stream().max(Comparator.comparing(CemaSubscriptionType::getCreationDate));
+        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = subscriptionTypeCatalogueService.getLatestSubscriptionType(name);
         if (!cemaSubscriptionTypeOptional.isPresent()) {
             throw new NotFoundException(String.format("SubscriptionType with name %s doesn't exits", name));
         }
@@ -134,8 +135,7 @@ public class SubscriptionTypeController {
 
         log.info("Request for subscriptionType with {}", name);
 
-        List<CemaSubscriptionType> cemaSubscriptionTypes = subscriptionTypeRepository.findAllByNameIgnoreCase(name);
-        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = cemaSubscriptionTypes.stream().max(Comparator.comparing(CemaSubscriptionType::getCreationDate));
+        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = subscriptionTypeCatalogueService.getLatestSubscriptionType(name);
         if (!cemaSubscriptionTypeOptional.isPresent()) {
             throw new NotFoundException(String.format("SubscriptionType with name %s doesn't exits", name));
         }
@@ -163,8 +163,7 @@ public class SubscriptionTypeController {
 
         log.info("Request to modify subscriptionType with name: {}", name);
 
-        List<CemaSubscriptionType> cemaSubscriptionTypes = subscriptionTypeRepository.findAllByNameIgnoreCase(name);
-        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = cemaSubscriptionTypes.stream().max(Comparator.comparing(CemaSubscriptionType::getCreationDate));
+        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = Optional.ofNullable(subscriptionTypeRepository.findLatestByName(name));
         if (!cemaSubscriptionTypeOptional.isPresent()) {
             log.info("SubscriptionType doesn't exists");
             throw new NotFoundException(String.format("SubscriptionType with name %s doesn't exits", name));
@@ -173,6 +172,8 @@ public class SubscriptionTypeController {
         cemaSubscriptionType = subscriptionTypeMappingService.updateDomainWithEntity(subscriptionType, cemaSubscriptionType);
 
         CemaSubscriptionType cemaSubscriptionTypeUpdated = subscriptionTypeRepository.save(cemaSubscriptionType);
+        subscriptionTypeCatalogueService.invalidate(name);
+        subscriptionTypeCatalogueService.invalidate(cemaSubscriptionTypeUpdated.getName());
         SubscriptionType subscriptionTypeUpdated = subscriptionTypeMappingService.mapEntityToDomain(cemaSubscriptionTypeUpdated);
 
         return ResponseEntity.ok().body(subscriptionTypeUpdated);
@@ -193,13 +194,13 @@ public class SubscriptionTypeController {
 
         log.info("Request to delete user: {}", name);
 
-        List<CemaSubscriptionType> cemaSubscriptionTypes = subscriptionTypeRepository.findAllByNameIgnoreCase(name);
-        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = cemaSubscriptionTypes.stream().max(Comparator.comparing(CemaSubscriptionType::getCreationDate));
+        Optional<CemaSubscriptionType> cemaSubscriptionTypeOptional = Optional.ofNullable(subscriptionTypeRepository.findLatestByName(name));
         if (cemaSubscriptionTypeOptional.isPresent()) {
             log.info("SubscriptionType exists, invalidating");
             CemaSubscriptionType cemaSubscriptionType = cemaSubscriptionTypeOptional.get();
             cemaSubscriptionType.setExpirationDate(new Date());
             subscriptionTypeRepository.save(cemaSubscriptionType);
+            subscriptionTypeCatalogueService.invalidate(name);
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
         log.info("Not found");
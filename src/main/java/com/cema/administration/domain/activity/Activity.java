@@ -1,5 +1,6 @@
 package com.cema.administration.domain.activity;
 
+import com.cema.administration.utils.YearBuckets;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.AllArgsConstructor;
@@ -11,7 +12,6 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Pattern;
-import java.time.ZoneId;
 import java.util.Date;
 import java.util.UUID;
 
@@ -42,7 +42,7 @@ public class Activity implements Comparable<Activity> {
 
     @JsonIgnore
     public int getExecutionYear(){
-        return executionDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().getYear();
+        return YearBuckets.yearOf(executionDate);
     }
 
 
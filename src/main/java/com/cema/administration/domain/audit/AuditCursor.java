@@ -0,0 +1,44 @@
+package com.cema.administration.domain.audit;
+
+import com.cema.administration.entities.CemaAudit;
+import com.cema.administration.exceptions.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position of the last audit returned by a keyset page, sent to clients as an opaque token. The date is null when
+ * the page ended among the audits without date.
+ */
+@Getter
+@AllArgsConstructor
+public class AuditCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final Date auditDate;
+    private final Long id;
+
+    public static AuditCursor from(CemaAudit cemaAudit) {
+        return new AuditCursor(cemaAudit.getAuditDate(), cemaAudit.getId());
+    }
+
+    public static AuditCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR);
+            Date auditDate = parts[0].isEmpty() ? null : new Date(Long.parseLong(parts[0]));
+            return new AuditCursor(auditDate, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException exception) {
+            throw new ValidationException(String.format("Invalid cursor %s", token), exception);
+        }
+    }
+
+    public String encode() {
+        String raw = (auditDate == null ? "" : String.valueOf(auditDate.getTime())) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
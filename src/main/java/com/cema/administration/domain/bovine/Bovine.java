@@ -1,5 +1,6 @@
 package com.cema.administration.domain.bovine;
 
+import com.cema.administration.utils.YearBuckets;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,7 +10,6 @@ import lombok.Setter;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Pattern;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 
@@ -45,10 +45,8 @@ public class Bovine {
     @ApiModelProperty(notes = "The batches this bovine belongs to", example = "[\"batch_1\",\"OtherBatch\",\"bigbatch\",\"Some_Batch\"]")
     private List<String> batchNames;
 
-    public Integer getTaggingYear() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(taggingDate);
-        return calendar.get(Calendar.YEAR);
+    public int getTaggingYear() {
+        return YearBuckets.yearOf(taggingDate);
     }
 
 }
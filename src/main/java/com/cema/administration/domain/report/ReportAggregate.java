@@ -0,0 +1,16 @@
+package com.cema.administration.domain.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportAggregate {
+
+    private int year;
+    private String dimension;
+    private long value;
+    private long count;
+}
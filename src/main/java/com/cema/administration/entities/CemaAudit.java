@@ -12,6 +12,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.util.Date;
 
@@ -24,7 +25,8 @@ import java.util.Date;
 @AllArgsConstructor
 public class CemaAudit {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cema_audit_id_generator")
+    @SequenceGenerator(name = "cema_audit_id_generator", sequenceName = "cema_audit_id_seq", allocationSize = 100)
     @Basic(optional = false)
     @Column(name = "id")
     private Long id;
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.Basic;
 import javax.persistence.CascadeType;
@@ -13,6 +14,8 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import java.util.Date;
@@ -53,8 +56,16 @@ public class CemaEstablishment {
             orphanRemoval = true,
             fetch = FetchType.LAZY
     )
+    @BatchSize(size = 100)
     private List<CemaSubscription> subscriptions;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "active_subscription_id")
+    private CemaSubscription activeSubscription;
+
+    @Column(name = "active_until")
+    private Date activeUntil;
+
     @Override
     public String toString() {
         return "CemaEstablishment{" +
@@ -66,6 +77,7 @@ public class CemaEstablishment {
                 ", email='" + email + '\'' +
                 ", ownerUserName='" + ownerUserName + '\'' +
                 ", creationDate=" + creationDate +
+                ", activeUntil=" + activeUntil +
                 ", subscriptions=" + subscriptions +
                 '}';
     }
@@ -0,0 +1,54 @@
+package com.cema.administration.entities;
+
+import com.cema.administration.constants.ReportType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Basic;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "report_aggregate")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CemaReportAggregate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_aggregate_id_generator")
+    @SequenceGenerator(name = "report_aggregate_id_generator", sequenceName = "report_aggregate_id_seq", allocationSize = 100)
+    @Basic(optional = false)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "establishment_cuig")
+    private String establishmentCuig;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type")
+    private ReportType reportType;
+
+    @Column(name = "year")
+    private Integer year;
+
+    @Column(name = "dimension")
+    private String dimension;
+
+    @Column(name = "value")
+    private Long value;
+
+    @Column(name = "count")
+    private Long count;
+}
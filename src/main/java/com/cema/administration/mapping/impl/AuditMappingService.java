@@ -5,6 +5,8 @@ import com.cema.administration.entities.CemaAudit;
 import com.cema.administration.mapping.RegularMappingService;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
+
 @Service
 public class AuditMappingService implements RegularMappingService<CemaAudit, Audit> {
 
@@ -20,7 +22,7 @@ public class AuditMappingService implements RegularMappingService<CemaAudit, Aud
                 .requestBody(cemaAudit.getRequestBody())
                 .requestHeaders(cemaAudit.getRequestHeaders())
                 .responseBody(cemaAudit.getResponseBody())
-                .role(cemaAudit.getRole().replace("[", "").replace("]", ""))
+                .role(stripBrackets(cemaAudit.getRole()))
                 .uri(cemaAudit.getUri())
                 .auditDate(cemaAudit.getAuditDate())
                 .username(cemaAudit.getRequestorUsername())
@@ -31,13 +33,13 @@ public class AuditMappingService implements RegularMappingService<CemaAudit, Aud
     @Override
     public CemaAudit mapDomainToEntity(Audit audit) {
         return CemaAudit.builder()
-                .auditDate(audit.getAuditDate())
+                .auditDate(audit.getAuditDate() != null ? audit.getAuditDate() : new Date())
                 .establishmentCuig(audit.getEstablishmentCuig())
                 .httpMethod(audit.getHttpMethod())
                 .requestorUsername(audit.getUsername())
                 .method(audit.getMethod())
                 .requestBody(audit.getRequestBody())
-                .role(audit.getRole().replace("[", "").replace("]", ""))
+                .role(stripBrackets(audit.getRole()))
                 .requestHeaders(audit.getRequestHeaders())
                 .responseBody(audit.getResponseBody())
                 .responseStatus(audit.getResponseStatus())
@@ -46,4 +48,9 @@ public class AuditMappingService implements RegularMappingService<CemaAudit, Aud
                 .module(audit.getModule())
                 .build();
     }
+
+    // Roles are sent as the authorities list of the user, e.g. [PATRON], and may be missing
+    private String stripBrackets(String role) {
+        return role == null ? null : role.replace("[", "").replace("]", "");
+    }
 }
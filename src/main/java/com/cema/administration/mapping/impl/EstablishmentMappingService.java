@@ -24,9 +24,12 @@ public class EstablishmentMappingService implements UpdateMappingService<CemaEst
 
     @Override
     public Establishment mapEntityToDomain(CemaEstablishment cemaEstablishment) {
-        List<CemaSubscription> cemaSubscriptions = cemaEstablishment.getSubscriptions();
-
-        Optional<CemaSubscription> cemaSubscriptionOptional = cemaSubscriptions.stream().max(Comparator.comparing(CemaSubscription::getStartingDate));
+        Optional<CemaSubscription> cemaSubscriptionOptional = Optional.ofNullable(cemaEstablishment.getActiveSubscription());
+        if (!cemaSubscriptionOptional.isPresent()) {
+            // Establishments not yet backfilled with an active subscription
+            List<CemaSubscription> cemaSubscriptions = cemaEstablishment.getSubscriptions();
+            cemaSubscriptionOptional = cemaSubscriptions.stream().max(Comparator.comparing(CemaSubscription::getStartingDate));
+        }
 
         Subscription subscription = null;
         if (cemaSubscriptionOptional.isPresent()) {
@@ -22,20 +22,22 @@ public class SubscriptionMappingService implements UpdateMappingService<CemaSubs
     @Override
     public Subscription mapEntityToDomain(CemaSubscription cemaSubscription) {
         CemaSubscriptionType cemaSubscriptionType = cemaSubscription.getCemaSubscriptionType();
-        Date startingDate = cemaSubscription.getStartingDate();
-        LocalDateTime startingTime = startingDate.toInstant()
-                .atZone(ZoneId.systemDefault())
-                .toLocalDateTime();
-        LocalDateTime endingTime = startingTime.plusDays(cemaSubscriptionType.getDuration());
-        Date endingDate = Date.from(endingTime.atZone(ZoneId.systemDefault()).toInstant());
 
         return Subscription.builder()
-                .startingDate(startingDate)
-                .endingDate(endingDate)
+                .startingDate(cemaSubscription.getStartingDate())
+                .endingDate(getEndingDate(cemaSubscription))
                 .subscriptionType(subscriptionTypeMappingService.mapEntityToDomain(cemaSubscriptionType))
                 .build();
     }
 
+    public Date getEndingDate(CemaSubscription cemaSubscription) {
+        LocalDateTime startingTime = cemaSubscription.getStartingDate().toInstant()
+                .atZone(ZoneId.systemDefault())
+                .toLocalDateTime();
+        LocalDateTime endingTime = startingTime.plusDays(cemaSubscription.getCemaSubscriptionType().getDuration());
+        return Date.from(endingTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
     @Override
     public CemaSubscription mapDomainToEntity(Subscription subscription) {
         return null;
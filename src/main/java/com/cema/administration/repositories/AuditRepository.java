@@ -4,10 +4,54 @@ import com.cema.administration.entities.CemaAudit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface AuditRepository extends JpaRepository<CemaAudit, Long> {
 
     Page<CemaAudit> findAllByEstablishmentCuig(String cuig, Pageable paging);
+
+    long countByEstablishmentCuig(String cuig);
+
+    // Audits without date come last, after the dated ones, in descending id order
+    @Query(value = "SELECT * FROM cema_audit ORDER BY audit_date DESC NULLS LAST, id DESC LIMIT :size", nativeQuery = true)
+    List<CemaAudit> findFirstKeysetPage(@Param("size") int size);
+
+    @Query(value = "SELECT * FROM (" +
+            "(SELECT * FROM cema_audit WHERE (audit_date, id) < (:auditDate, :id) " +
+            "ORDER BY audit_date DESC NULLS LAST, id DESC LIMIT :size) " +
+            "UNION ALL " +
+            "(SELECT * FROM cema_audit WHERE audit_date IS NULL ORDER BY id DESC LIMIT :size)) page " +
+            "ORDER BY audit_date DESC NULLS LAST, id DESC LIMIT :size", nativeQuery = true)
+    List<CemaAudit> findKeysetPageAfter(@Param("auditDate") Date auditDate, @Param("id") Long id, @Param("size") int size);
+
+    @Query(value = "SELECT * FROM cema_audit WHERE audit_date IS NULL AND id < :id ORDER BY id DESC LIMIT :size",
+            nativeQuery = true)
+    List<CemaAudit> findUndatedKeysetPageAfter(@Param("id") Long id, @Param("size") int size);
+
+    @Query(value = "SELECT * FROM cema_audit WHERE establishment_cuig = :cuig " +
+            "ORDER BY audit_date DESC NULLS LAST, id DESC LIMIT :size", nativeQuery = true)
+    List<CemaAudit> findFirstKeysetPageByEstablishmentCuig(@Param("cuig") String cuig, @Param("size") int size);
+
+    @Query(value = "SELECT * FROM (" +
+            "(SELECT * FROM cema_audit WHERE establishment_cuig = :cuig AND (audit_date, id) < (:auditDate, :id) " +
+            "ORDER BY audit_date DESC NULLS LAST, id DESC LIMIT :size) " +
+            "UNION ALL " +
+            "(SELECT * FROM cema_audit WHERE establishment_cuig = :cuig AND audit_date IS NULL ORDER BY id DESC LIMIT :size)) page " +
+            "ORDER BY audit_date DESC NULLS LAST, id DESC LIMIT :size", nativeQuery = true)
+    List<CemaAudit> findKeysetPageByEstablishmentCuigAfter(@Param("cuig") String cuig, @Param("auditDate") Date auditDate,
+                                                           @Param("id") Long id, @Param("size") int size);
+
+    @Query(value = "SELECT * FROM cema_audit WHERE establishment_cuig = :cuig AND audit_date IS NULL AND id < :id " +
+            "ORDER BY id DESC LIMIT :size", nativeQuery = true)
+    List<CemaAudit> findUndatedKeysetPageByEstablishmentCuigAfter(@Param("cuig") String cuig, @Param("id") Long id,
+                                                                  @Param("size") int size);
+
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS bigint) FROM pg_class WHERE relname = 'cema_audit'", nativeQuery = true)
+    long estimateCount();
 }
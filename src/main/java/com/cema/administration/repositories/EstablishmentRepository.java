@@ -1,11 +1,26 @@
 package com.cema.administration.repositories;
 
 import com.cema.administration.entities.CemaEstablishment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface EstablishmentRepository extends JpaRepository<CemaEstablishment, Long> {
 
     CemaEstablishment findCemaEstablishmentByCuig(String cuig);
+
+    @Query(value = "select e from CemaEstablishment e " +
+            "left join fetch e.activeSubscription s " +
+            "left join fetch s.cemaSubscriptionType",
+            countQuery = "select count(e) from CemaEstablishment e")
+    Page<CemaEstablishment> findAllWithActiveSubscription(Pageable paging);
+
+    @Query(value = "select e from CemaEstablishment e " +
+            "left join fetch e.activeSubscription s " +
+            "left join fetch s.cemaSubscriptionType")
+    List<CemaEstablishment> findAllWithActiveSubscription(Sort sort);
 }
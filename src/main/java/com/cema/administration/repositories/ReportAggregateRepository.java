@@ -0,0 +1,26 @@
+package com.cema.administration.repositories;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.entities.CemaReportAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReportAggregateRepository extends JpaRepository<CemaReportAggregate, Long> {
+
+    @Query(value = "SELECT * FROM report_aggregate WHERE establishment_cuig = :cuig AND report_type = :reportType " +
+            "AND (:yearFrom = -1 OR year >= :yearFrom) AND (:yearTo = -1 OR year <= :yearTo)", nativeQuery = true)
+    List<CemaReportAggregate> findAggregates(@Param("cuig") String cuig, @Param("reportType") String reportType,
+                                             @Param("yearFrom") int yearFrom, @Param("yearTo") int yearTo);
+
+    @Modifying
+    @Query("delete from CemaReportAggregate a where a.establishmentCuig = :cuig and a.reportType = :reportType " +
+            "and a.year >= :fromYear")
+    int deleteFromYear(@Param("cuig") String cuig, @Param("reportType") ReportType reportType,
+                       @Param("fromYear") int fromYear);
+}
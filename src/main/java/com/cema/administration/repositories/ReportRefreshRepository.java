@@ -0,0 +1,27 @@
+package com.cema.administration.repositories;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.entities.CemaReportRefresh;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+
+@Repository
+public interface ReportRefreshRepository extends JpaRepository<CemaReportRefresh, Long> {
+
+    CemaReportRefresh findByEstablishmentCuigAndReportType(String cuig, ReportType reportType);
+
+    @Modifying
+    @Query(value = "INSERT INTO report_refresh (establishment_cuig, report_type) VALUES (:cuig, :reportType) " +
+            "ON CONFLICT (establishment_cuig, report_type) DO NOTHING", nativeQuery = true)
+    void createIfAbsent(@Param("cuig") String cuig, @Param("reportType") String reportType);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from CemaReportRefresh r where r.establishmentCuig = :cuig and r.reportType = :reportType")
+    CemaReportRefresh findForUpdate(@Param("cuig") String cuig, @Param("reportType") ReportType reportType);
+}
@@ -1,13 +1,29 @@
 package com.cema.administration.repositories;
 
 import com.cema.administration.entities.CemaSubscriptionType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
 public interface SubscriptionTypeRepository extends JpaRepository<CemaSubscriptionType, Long> {
 
-    List<CemaSubscriptionType> findAllByNameIgnoreCase(String name);
+    // Empty patterns and negative numbers match everything; patterns must have their LIKE wildcards escaped.
+    String SEARCH_CONDITION = "WHERE (:name = '' OR name ILIKE '%' || :name || '%') " +
+            "AND (:description = '' OR description ILIKE '%' || :description || '%') " +
+            "AND (:price < 0 OR price = :price) " +
+            "AND (:duration < 0 OR duration = :duration)";
+
+    @Query(value = "SELECT * FROM subscription_type WHERE lower(name) = lower(:name) " +
+            "ORDER BY creation_date DESC LIMIT 1", nativeQuery = true)
+    CemaSubscriptionType findLatestByName(@Param("name") String name);
+
+    @Query(value = "SELECT * FROM subscription_type " + SEARCH_CONDITION + " ORDER BY creation_date DESC",
+            countQuery = "SELECT count(*) FROM subscription_type " + SEARCH_CONDITION,
+            nativeQuery = true)
+    Page<CemaSubscriptionType> search(@Param("name") String name, @Param("description") String description,
+                                      @Param("price") long price, @Param("duration") long duration, Pageable paging);
 }
@@ -0,0 +1,8 @@
+package com.cema.administration.services.audit;
+
+import com.cema.administration.entities.CemaAudit;
+
+public interface AuditWriterService {
+
+    void write(CemaAudit cemaAudit);
+}
@@ -0,0 +1,191 @@
+package com.cema.administration.services.audit.impl;
+
+import com.cema.administration.constants.AuditOverflowPolicy;
+import com.cema.administration.entities.CemaAudit;
+import com.cema.administration.repositories.AuditRepository;
+import com.cema.administration.services.audit.AuditWriterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persists audits from a bounded in-memory queue on a background thread, in batches of up to batch-size rows or
+ * whatever arrived within flush-interval, whichever comes first. Once stopped, or when the queue stays full for
+ * block-timeout under the BLOCK policy, audits are saved on the calling thread.
+ */
+@Service
+@Slf4j
+public class AuditWriterServiceImpl implements AuditWriterService {
+
+    private final AuditRepository auditRepository;
+    private final BlockingQueue<CemaAudit> queue;
+    private final int batchSize;
+    private final long flushInterval;
+    private final long shutdownTimeout;
+    private final long blockTimeout;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final Counter droppedCounter;
+    private final Counter spilledCounter;
+    private final Counter failedCounter;
+    private final Thread writerThread;
+    // Enqueuing holds the read lock and stopping the write one, so no audit is queued after the final drain
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private boolean closed = true;
+    private volatile boolean running;
+
+    public AuditWriterServiceImpl(AuditRepository auditRepository, MeterRegistry meterRegistry,
+                                  @Value("${audit.writer.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${audit.writer.batch-size:200}") int batchSize,
+                                  @Value("${audit.writer.flush-interval:1000}") long flushInterval,
+                                  @Value("${audit.writer.shutdown-timeout:10000}") long shutdownTimeout,
+                                  @Value("${audit.writer.block-timeout:1000}") long blockTimeout,
+                                  @Value("${audit.writer.overflow-policy:BLOCK}") AuditOverflowPolicy overflowPolicy) {
+        this.auditRepository = auditRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.shutdownTimeout = shutdownTimeout;
+        this.blockTimeout = blockTimeout;
+        this.overflowPolicy = overflowPolicy;
+        this.droppedCounter = meterRegistry.counter("audit.writer.dropped");
+        this.spilledCounter = meterRegistry.counter("audit.writer.spilled");
+        this.failedCounter = meterRegistry.counter("audit.writer.failed");
+        meterRegistry.gaugeCollectionSize("audit.writer.queued", Tags.empty(), queue);
+        this.writerThread = new Thread(this::writeBatches, "audit-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread.start();
+        lifecycleLock.writeLock().lock();
+        try {
+            closed = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        lifecycleLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+        running = false;
+        writerThread.join(shutdownTimeout);
+        List<CemaAudit> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("Audit writer did not drain in time, saving {} audits on shutdown", remaining.size());
+            flush(remaining);
+        }
+    }
+
+    @Override
+    public void write(CemaAudit cemaAudit) {
+        boolean queued;
+        lifecycleLock.readLock().lock();
+        try {
+            queued = !closed && writerThread.isAlive() && enqueue(cemaAudit);
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+        if (!queued) {
+            auditRepository.save(cemaAudit);
+        }
+    }
+
+    /**
+     * Queues the audit as the overflow policy says, answering false when it must be saved on the calling thread.
+     */
+    private boolean enqueue(CemaAudit cemaAudit) {
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    if (queue.offer(cemaAudit, blockTimeout, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                    log.warn("Audit queue full for {} ms, saving audit for {} directly", blockTimeout, cemaAudit.getUri());
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                spilledCounter.increment();
+                return false;
+            case DROP:
+                if (!queue.offer(cemaAudit)) {
+                    droppedCounter.increment();
+                    log.warn("Audit queue full, dropping audit for {}", cemaAudit.getUri());
+                }
+                return true;
+            case SPILL:
+            default:
+                if (queue.offer(cemaAudit)) {
+                    return true;
+                }
+                spilledCounter.increment();
+                return false;
+        }
+    }
+
+    private void writeBatches() {
+        List<CemaAudit> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+        while (running || !queue.isEmpty()) {
+            try {
+                long wait = batch.isEmpty() ? flushInterval : Math.max(0, deadline - System.currentTimeMillis());
+                CemaAudit cemaAudit = queue.poll(wait, TimeUnit.MILLISECONDS);
+                if (cemaAudit != null) {
+                    if (batch.isEmpty()) {
+                        deadline = System.currentTimeMillis() + flushInterval;
+                    }
+                    batch.add(cemaAudit);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException interruptedException) {
+                log.info("Audit writer interrupted, flushing pending audits");
+                running = false;
+            }
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (System.currentTimeMillis() >= deadline || !running))) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<CemaAudit> batch) {
+        try {
+            auditRepository.saveAll(batch);
+        } catch (RuntimeException exception) {
+            // One bad row fails the whole batch, so the others are saved one by one
+            log.error("Unable to save a batch of {} audits, saving them one by one", batch.size(), exception);
+            for (CemaAudit cemaAudit : batch) {
+                try {
+                    auditRepository.save(cemaAudit);
+                } catch (RuntimeException saveException) {
+                    failedCounter.increment();
+                    log.error("Unable to save audit for {}", cemaAudit.getUri(), saveException);
+                }
+            }
+        }
+    }
+}
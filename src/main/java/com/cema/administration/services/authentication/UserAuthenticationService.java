@@ -0,0 +1,8 @@
+package com.cema.administration.services.authentication;
+
+import com.cema.administration.domain.User;
+
+public interface UserAuthenticationService {
+
+    User authenticate(String authorizationHeader);
+}
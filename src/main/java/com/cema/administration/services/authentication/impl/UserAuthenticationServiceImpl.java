@@ -0,0 +1,170 @@
+package com.cema.administration.services.authentication.impl;
+
+import com.cema.administration.domain.User;
+import com.cema.administration.services.authentication.UserAuthenticationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+@Service
+@Slf4j
+public class UserAuthenticationServiceImpl implements UserAuthenticationService {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String EXPIRATION_CLAIM = "exp";
+
+    private final RestTemplate restTemplate;
+    private final String url;
+    private final boolean localVerification;
+    private final String secret;
+    private final String roleClaim;
+    private final String cuigClaim;
+    private final Duration cacheTtl;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Cache<String, CachedUser> users;
+
+    public UserAuthenticationServiceImpl(RestTemplate restTemplate, @Value("${back-end.users.url}") String url,
+                                         @Value("${security.jwt.local-verification:false}") boolean localVerification,
+                                         @Value("${security.jwt.secret:}") String secret,
+                                         @Value("${security.jwt.role-claim:role}") String roleClaim,
+                                         @Value("${security.jwt.cuig-claim:cuig}") String cuigClaim,
+                                         @Value("${security.user-cache.ttl:60000}") long cacheTtl,
+                                         @Value("${security.user-cache.max-size:10000}") long cacheMaxSize) {
+        this.restTemplate = restTemplate;
+        this.url = url;
+        this.localVerification = localVerification && StringUtils.hasText(secret);
+        this.secret = secret;
+        this.roleClaim = roleClaim;
+        this.cuigClaim = cuigClaim;
+        this.cacheTtl = Duration.ofMillis(cacheTtl);
+        this.users = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, CachedUser>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedUser cachedUser, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), cachedUser.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedUser cachedUser, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, cachedUser, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedUser cachedUser, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        if (localVerification && !this.localVerification) {
+            log.warn("Local JWT verification requested without a secret, falling back to the users service");
+        }
+    }
+
+    @Override
+    public User authenticate(String authorizationHeader) {
+        if (localVerification) {
+            String token = authorizationHeader.startsWith(BEARER_PREFIX)
+                    ? authorizationHeader.substring(BEARER_PREFIX.length()) : authorizationHeader;
+            Claims claims;
+            try {
+                claims = Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+            } catch (JwtException | IllegalArgumentException jwtException) {
+                log.info("Rejected token: {}", jwtException.getMessage());
+                return null;
+            }
+            User user = mapClaimsToUser(claims);
+            if (user != null) {
+                return user;
+            }
+            log.debug("Token is missing user claims, asking the users service");
+        }
+        CachedUser cachedUser = users.get(hash(authorizationHeader), key -> requestUser(authorizationHeader));
+        return cachedUser == null ? null : cachedUser.getUser();
+    }
+
+    private User mapClaimsToUser(Claims claims) {
+        String role = claims.get(roleClaim, String.class);
+        String cuig = claims.get(cuigClaim, String.class);
+        if (!StringUtils.hasText(claims.getSubject()) || !StringUtils.hasText(role) || cuig == null) {
+            return null;
+        }
+        return User.builder()
+                .userName(claims.getSubject())
+                .role(role)
+                .establishmentCuig(cuig)
+                .build();
+    }
+
+    private CachedUser requestUser(String authorizationHeader) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.add(AUTHORIZATION_HEADER, authorizationHeader);
+        HttpEntity entity = new HttpEntity(httpHeaders);
+        User user = restTemplate.postForObject(url, entity, User.class);
+        if (user == null) {
+            return null;
+        }
+        // A token must not keep authenticating from the cache once it expires
+        Instant expiresAt = Instant.now().plus(cacheTtl);
+        Instant tokenExpiration = readExpiration(authorizationHeader);
+        if (tokenExpiration != null && tokenExpiration.isBefore(expiresAt)) {
+            expiresAt = tokenExpiration;
+        }
+        return new CachedUser(user, expiresAt);
+    }
+
+    /**
+     * The expiration of a JWT, read without verifying it as the users service does that, or null for other tokens.
+     */
+    private Instant readExpiration(String authorizationHeader) {
+        String token = authorizationHeader.startsWith(BEARER_PREFIX)
+                ? authorizationHeader.substring(BEARER_PREFIX.length()) : authorizationHeader;
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode payload = mapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            JsonNode expiration = payload == null ? null : payload.get(EXPIRATION_CLAIM);
+            return expiration != null && expiration.canConvertToLong() ? Instant.ofEpochSecond(expiration.asLong()) : null;
+        } catch (IOException | IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    @SneakyThrows
+    private String hash(String authorizationHeader) {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return Base64.getEncoder().encodeToString(digest.digest(authorizationHeader.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedUser {
+        private final User user;
+        private final Instant expiresAt;
+    }
+}
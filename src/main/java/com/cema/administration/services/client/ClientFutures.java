@@ -0,0 +1,29 @@
+package com.cema.administration.services.client;
+
+import lombok.Lombok;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public final class ClientFutures {
+
+    private ClientFutures() {
+    }
+
+    /**
+     * Waits for an upstream call and rethrows its original exception, so the exception handlers see the same
+     * errors as with the synchronous clients.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException completionException) {
+            Throwable cause = completionException.getCause();
+            if (cause == null) {
+                throw completionException;
+            }
+            // Checked causes too, as the clients throw them sneakily
+            throw Lombok.sneakyThrow(cause);
+        }
+    }
+}
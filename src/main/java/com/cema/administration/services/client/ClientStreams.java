@@ -0,0 +1,43 @@
+package com.cema.administration.services.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.springframework.web.client.ResponseExtractor;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public final class ClientStreams {
+
+    private ClientStreams() {
+    }
+
+    /**
+     * Reads a JSON array response one element at a time and hands every element to the consumer, so the whole list
+     * is never held in memory. An empty or null body has no elements. Answers the total pages of the response.
+     */
+    public static <T> ResponseExtractor<Integer> forEachElement(ObjectMapper mapper, Class<T> elementType,
+                                                                Consumer<? super T> consumer) {
+        return response -> {
+            int totalPages = PagedFetcher.getTotalPages(response.getHeaders());
+            try (JsonParser parser = mapper.getFactory().createParser(response.getBody())) {
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.VALUE_NULL) {
+                    return totalPages;
+                }
+                if (token != JsonToken.START_ARRAY) {
+                    throw MismatchedInputException.from(parser, List.class, "Expected a JSON array of " + elementType.getSimpleName());
+                }
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    T element = mapper.readValue(parser, elementType);
+                    if (element != null) {
+                        consumer.accept(element);
+                    }
+                }
+            }
+            return totalPages;
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.cema.administration.services.client;
+
+import com.cema.administration.config.AsyncConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Walks every page of an upstream list, following the total pages the upstream service reports in its headers.
+ * The elements are handed to the consumer page by page, so only one page (two when reading ahead) is in memory at
+ * a time. When reading ahead, the next page is requested while the current one is consumed.
+ */
+@Component
+public class PagedFetcher {
+
+    public static final String TOTAL_PAGES_HEADER = "total-pages";
+
+    private final TaskExecutor pageExecutor;
+    private final int pageSize;
+    private final boolean readAhead;
+
+    public PagedFetcher(@Qualifier(AsyncConfig.PAGE_EXECUTOR) TaskExecutor pageExecutor,
+                        @Value("${back-end.paging.page-size:500}") int pageSize,
+                        @Value("${back-end.paging.read-ahead:true}") boolean readAhead) {
+        this.pageExecutor = pageExecutor;
+        this.pageSize = pageSize;
+        this.readAhead = readAhead;
+    }
+
+    /**
+     * Reads one page of the given size, handing its elements to the consumer, and answers the total pages.
+     */
+    @FunctionalInterface
+    public interface PageReader<T> {
+        int read(int page, int size, Consumer<? super T> consumer);
+    }
+
+    public <T> void forEach(PageReader<T> pageReader, Consumer<? super T> consumer) {
+        int totalPages = pageReader.read(0, pageSize, consumer);
+        if (!readAhead) {
+            for (int page = 1; page < totalPages; page++) {
+                totalPages = pageReader.read(page, pageSize, consumer);
+            }
+            return;
+        }
+        CompletableFuture<Page<T>> nextPage = totalPages > 1 ? readAsync(pageReader, 1) : null;
+        for (int page = 1; nextPage != null; page++) {
+            Page<T> currentPage = ClientFutures.join(nextPage);
+            totalPages = currentPage.totalPages;
+            nextPage = page + 1 < totalPages ? readAsync(pageReader, page + 1) : null;
+            currentPage.elements.forEach(consumer);
+        }
+    }
+
+    public <T> List<T> getAll(PageReader<T> pageReader) {
+        List<T> elements = new ArrayList<>();
+        forEach(pageReader, elements::add);
+        return elements;
+    }
+
+    /**
+     * The total pages of a response, a response without paging headers being a single page.
+     */
+    public static int getTotalPages(HttpHeaders headers) {
+        String totalPages = headers.getFirst(TOTAL_PAGES_HEADER);
+        if (totalPages == null) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(totalPages.trim());
+        } catch (NumberFormatException numberFormatException) {
+            return 1;
+        }
+    }
+
+    private <T> CompletableFuture<Page<T>> readAsync(PageReader<T> pageReader, int page) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<T> elements = new ArrayList<>();
+            int totalPages = pageReader.read(page, pageSize, elements::add);
+            return new Page<>(elements, totalPages);
+        }, pageExecutor);
+    }
+
+    private static final class Page<T> {
+        private final List<T> elements;
+        private final int totalPages;
+
+        private Page(List<T> elements, int totalPages) {
+            this.elements = elements;
+            this.totalPages = totalPages;
+        }
+    }
+}
@@ -4,14 +4,32 @@ import com.cema.administration.domain.activity.Feeding;
 import com.cema.administration.domain.activity.Ultrasound;
 import com.cema.administration.domain.activity.Weighing;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface ActivityClientService {
     List<Ultrasound> getAllUltrasounds();
 
+    List<Ultrasound> getAllUltrasounds(LocalDate executedFrom);
+
     List<Weighing> getAllWeightings();
 
+    List<Weighing> getAllWeightings(LocalDate executedFrom);
+
     List<Feeding> getAllFeedings();
 
+    List<Feeding> getAllFeedings(LocalDate executedFrom);
+
+    void forEachUltrasound(LocalDate executedFrom, Consumer<? super Ultrasound> consumer);
+
+    void forEachWeighing(LocalDate executedFrom, Consumer<? super Weighing> consumer);
+
+    void forEachFeeding(LocalDate executedFrom, Consumer<? super Feeding> consumer);
+
     List<Weighing> getLastWeightingsForBovine(String bovineTag);
+
+    Map<String, List<Weighing>> getLastWeightingsForBovines(Collection<String> bovineTags);
 }
@@ -0,0 +1,21 @@
+package com.cema.administration.services.client.activity;
+
+import com.cema.administration.domain.activity.Feeding;
+import com.cema.administration.domain.activity.Ultrasound;
+import com.cema.administration.domain.activity.Weighing;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncActivityClientService {
+    CompletableFuture<List<Ultrasound>> getAllUltrasounds(LocalDate executedFrom);
+
+    CompletableFuture<List<Weighing>> getAllWeightings(LocalDate executedFrom);
+
+    CompletableFuture<List<Feeding>> getAllFeedings(LocalDate executedFrom);
+
+    CompletableFuture<Map<String, List<Weighing>>> getLastWeightingsForBovines(Collection<String> bovineTags);
+}
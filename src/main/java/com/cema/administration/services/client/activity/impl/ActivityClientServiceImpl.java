@@ -6,6 +6,8 @@ import com.cema.administration.domain.activity.Ultrasound;
 import com.cema.administration.domain.activity.Weighing;
 import com.cema.administration.exceptions.ValidationException;
 import com.cema.administration.services.authorization.AuthorizationService;
+import com.cema.administration.services.client.ClientStreams;
+import com.cema.administration.services.client.PagedFetcher;
 import com.cema.administration.services.client.activity.ActivityClientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
@@ -16,84 +18,93 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 public class ActivityClientServiceImpl implements ActivityClientService {
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
-    private static final String PATH_ULTRASOUND = "ultrasounds/search?size=999";
-    private static final String PATH_WEIGHTINGS = "weightings/search?size=999";
-    private static final String PATH_FEEDINGS = "feedings/search?size=999";
+    private static final String PATH_ULTRASOUND = "ultrasounds/search";
+    private static final String PATH_WEIGHTINGS = "weightings/search";
+    private static final String PATH_FEEDINGS = "feedings/search";
     private static final String PATH_WEIGHTINGS_LAST = "weightings/search?size=10";
+    private static final String PARAM_EXECUTION_DATE_FROM = "executionDateFrom";
+    private static final int LAST_WEIGHTINGS_SIZE = 10;
 
     private final RestTemplate restTemplate;
     private final String url;
     private final AuthorizationService authorizationService;
+    private final PagedFetcher pagedFetcher;
     private final ObjectMapper mapper = new ObjectMapper();
+    // Configured like the message converter of the rest template
+    private final ObjectMapper streamMapper = Jackson2ObjectMapperBuilder.json().build();
 
     public ActivityClientServiceImpl(RestTemplate restTemplate, @Value("${back-end.activity.url}") String url,
-                                     AuthorizationService authorizationService) {
+                                     AuthorizationService authorizationService, PagedFetcher pagedFetcher) {
         this.restTemplate = restTemplate;
         this.url = url;
         this.authorizationService = authorizationService;
+        this.pagedFetcher = pagedFetcher;
     }
 
-    @SneakyThrows
     @Override
     public List<Ultrasound> getAllUltrasounds() {
-        String authToken = authorizationService.getUserAuthToken();
-        String searchUrl = url + PATH_ULTRASOUND;
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.add(AUTHORIZATION_HEADER, authToken);
-        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity entity = new HttpEntity("{}", httpHeaders);
-        try {
-            ResponseEntity<List<Ultrasound>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.POST, entity, new ParameterizedTypeReference<List<Ultrasound>>() {
-            });
-            return responseEntity.getBody();
-        } catch (RestClientResponseException httpClientErrorException) {
-            String response = httpClientErrorException.getResponseBodyAsString();
-            ErrorResponse errorResponse = mapper.readValue(response, ErrorResponse.class);
-            throw new ValidationException(errorResponse.getMessage(), httpClientErrorException);
-        }
+        return getAllUltrasounds(null);
+    }
+
+    @Override
+    public List<Ultrasound> getAllUltrasounds(LocalDate executedFrom) {
+        return pagedFetcher.getAll(searchPages(PATH_ULTRASOUND, executedFrom, Ultrasound.class));
     }
 
-    @SneakyThrows
     @Override
     public List<Weighing> getAllWeightings() {
-        String authToken = authorizationService.getUserAuthToken();
-        String searchUrl = url + PATH_WEIGHTINGS;
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.add(AUTHORIZATION_HEADER, authToken);
-        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity entity = new HttpEntity("{}", httpHeaders);
-        try {
-            ResponseEntity<List<Weighing>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.POST, entity, new ParameterizedTypeReference<List<Weighing>>() {
-            });
-            return responseEntity.getBody();
-        } catch (RestClientResponseException httpClientErrorException) {
-            String response = httpClientErrorException.getResponseBodyAsString();
-            ErrorResponse errorResponse = mapper.readValue(response, ErrorResponse.class);
-            throw new ValidationException(errorResponse.getMessage(), httpClientErrorException);
-        }
+        return getAllWeightings(null);
+    }
+
+    @Override
+    public List<Weighing> getAllWeightings(LocalDate executedFrom) {
+        return pagedFetcher.getAll(searchPages(PATH_WEIGHTINGS, executedFrom, Weighing.class));
     }
 
-    @SneakyThrows
     @Override
     public List<Feeding> getAllFeedings() {
+        return getAllFeedings(null);
+    }
+
+    @Override
+    public List<Feeding> getAllFeedings(LocalDate executedFrom) {
+        return pagedFetcher.getAll(searchPages(PATH_FEEDINGS, executedFrom, Feeding.class));
+    }
+
+    @SneakyThrows
+    @Override
+    public List<Weighing> getLastWeightingsForBovine(String bovineTag) {
+        Weighing toSearch = Weighing.builder()
+                .bovineTag(bovineTag)
+                .build();
         String authToken = authorizationService.getUserAuthToken();
-        String searchUrl = url + PATH_FEEDINGS;
+        String searchUrl = url + PATH_WEIGHTINGS_LAST;
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.add(AUTHORIZATION_HEADER, authToken);
         httpHeaders.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity entity = new HttpEntity("{}", httpHeaders);
+        HttpEntity<Weighing> entity = new HttpEntity<>(toSearch, httpHeaders);
         try {
-            ResponseEntity<List<Feeding>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.POST, entity, new ParameterizedTypeReference<List<Feeding>>() {
+            ResponseEntity<List<Weighing>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.POST, entity, new ParameterizedTypeReference<List<Weighing>>() {
             });
             return responseEntity.getBody();
         } catch (RestClientResponseException httpClientErrorException) {
@@ -103,26 +114,66 @@ public class ActivityClientServiceImpl implements ActivityClientService {
         }
     }
 
-    @SneakyThrows
+    /**
+     * The upstream search only filters on a single bovineTag, so the weightings are read in one paged search and
+     * only those of the given tags are kept while streaming, before the last ones of each tag are picked.
+     */
     @Override
-    public List<Weighing> getLastWeightingsForBovine(String bovineTag) {
-        Weighing toSearch = Weighing.builder()
-                .bovineTag(bovineTag)
-                .build();
+    public Map<String, List<Weighing>> getLastWeightingsForBovines(Collection<String> bovineTags) {
+        Set<String> tags = new HashSet<>(bovineTags);
+        List<Weighing> tagWeightings = new ArrayList<>();
+        forEachWeighing(null, weighing -> {
+            if (tags.contains(weighing.getBovineTag()) && weighing.getExecutionDate() != null) {
+                tagWeightings.add(weighing);
+            }
+        });
+        Map<String, List<Weighing>> weightingsByTag = tagWeightings.stream()
+                .sorted()
+                .collect(Collectors.groupingBy(Weighing::getBovineTag));
+        weightingsByTag.replaceAll((tag, weightings) -> weightings.subList(0, Math.min(LAST_WEIGHTINGS_SIZE, weightings.size())));
+        return weightingsByTag;
+    }
+
+    @Override
+    public void forEachUltrasound(LocalDate executedFrom, Consumer<? super Ultrasound> consumer) {
+        pagedFetcher.forEach(searchPages(PATH_ULTRASOUND, executedFrom, Ultrasound.class), consumer);
+    }
+
+    @Override
+    public void forEachWeighing(LocalDate executedFrom, Consumer<? super Weighing> consumer) {
+        pagedFetcher.forEach(searchPages(PATH_WEIGHTINGS, executedFrom, Weighing.class), consumer);
+    }
+
+    @Override
+    public void forEachFeeding(LocalDate executedFrom, Consumer<? super Feeding> consumer) {
+        pagedFetcher.forEach(searchPages(PATH_FEEDINGS, executedFrom, Feeding.class), consumer);
+    }
+
+    // The token is read once, since the pages read ahead are requested from other threads
+    private <T> PagedFetcher.PageReader<T> searchPages(String path, LocalDate executedFrom, Class<T> type) {
         String authToken = authorizationService.getUserAuthToken();
-        String searchUrl = url + PATH_WEIGHTINGS_LAST;
+        return (page, size, consumer) -> searchPage(authToken, pageUrl(path, page, size, executedFrom), type, consumer);
+    }
+
+    @SneakyThrows
+    private <T> int searchPage(String authToken, String searchUrl, Class<T> type, Consumer<? super T> consumer) {
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.add(AUTHORIZATION_HEADER, authToken);
         httpHeaders.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Weighing> entity = new HttpEntity<>(toSearch, httpHeaders);
+        httpHeaders.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        HttpEntity<String> entity = new HttpEntity<>("{}", httpHeaders);
         try {
-            ResponseEntity<List<Weighing>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.POST, entity, new ParameterizedTypeReference<List<Weighing>>() {
-            });
-            return responseEntity.getBody();
+            return restTemplate.execute(searchUrl, HttpMethod.POST, restTemplate.httpEntityCallback(entity),
+                    ClientStreams.forEachElement(streamMapper, type, consumer));
         } catch (RestClientResponseException httpClientErrorException) {
             String response = httpClientErrorException.getResponseBodyAsString();
             ErrorResponse errorResponse = mapper.readValue(response, ErrorResponse.class);
             throw new ValidationException(errorResponse.getMessage(), httpClientErrorException);
         }
     }
+
+    private String pageUrl(String path, int page, int size, LocalDate executedFrom) {
+        String pageUrl = url + path + "?size=" + size + "&page=" + page;
+        return executedFrom == null ? pageUrl : pageUrl + "&" + PARAM_EXECUTION_DATE_FROM + "=" + executedFrom;
+    }
 }
@@ -0,0 +1,50 @@
+package com.cema.administration.services.client.activity.impl;
+
+import com.cema.administration.config.AsyncConfig;
+import com.cema.administration.domain.activity.Feeding;
+import com.cema.administration.domain.activity.Ultrasound;
+import com.cema.administration.domain.activity.Weighing;
+import com.cema.administration.services.client.activity.ActivityClientService;
+import com.cema.administration.services.client.activity.AsyncActivityClientService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class AsyncActivityClientServiceImpl implements AsyncActivityClientService {
+
+    private final ActivityClientService activityClientService;
+
+    public AsyncActivityClientServiceImpl(ActivityClientService activityClientService) {
+        this.activityClientService = activityClientService;
+    }
+
+    @Async(AsyncConfig.CLIENT_EXECUTOR)
+    @Override
+    public CompletableFuture<List<Ultrasound>> getAllUltrasounds(LocalDate executedFrom) {
+        return CompletableFuture.completedFuture(activityClientService.getAllUltrasounds(executedFrom));
+    }
+
+    @Async(AsyncConfig.CLIENT_EXECUTOR)
+    @Override
+    public CompletableFuture<List<Weighing>> getAllWeightings(LocalDate executedFrom) {
+        return CompletableFuture.completedFuture(activityClientService.getAllWeightings(executedFrom));
+    }
+
+    @Async(AsyncConfig.CLIENT_EXECUTOR)
+    @Override
+    public CompletableFuture<List<Feeding>> getAllFeedings(LocalDate executedFrom) {
+        return CompletableFuture.completedFuture(activityClientService.getAllFeedings(executedFrom));
+    }
+
+    @Async(AsyncConfig.CLIENT_EXECUTOR)
+    @Override
+    public CompletableFuture<Map<String, List<Weighing>>> getLastWeightingsForBovines(Collection<String> bovineTags) {
+        return CompletableFuture.completedFuture(activityClientService.getLastWeightingsForBovines(bovineTags));
+    }
+}
@@ -0,0 +1,17 @@
+package com.cema.administration.services.client.bovine;
+
+import com.cema.administration.domain.bovine.Batch;
+import com.cema.administration.domain.bovine.Bovine;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncBovineClientService {
+    CompletableFuture<List<Bovine>> getAllBovines();
+
+    CompletableFuture<List<Batch>> getAllBatches();
+
+    CompletableFuture<Map<String, Bovine>> getBovinesByTag(Collection<String> tags);
+}
@@ -4,7 +4,9 @@ import com.cema.administration.domain.bovine.Batch;
 import com.cema.administration.domain.bovine.Bovine;
 import lombok.SneakyThrows;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BovineClientService {
     @SneakyThrows
@@ -17,4 +19,6 @@ public interface BovineClientService {
 
     @SneakyThrows
     List<Bovine> getAllBovinesFromList(List<String> tags);
+
+    Map<String, Bovine> getBovinesByTag(Collection<String> tags);
 }
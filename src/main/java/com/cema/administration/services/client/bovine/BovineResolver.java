@@ -0,0 +1,51 @@
+package com.cema.administration.services.client.bovine;
+
+import com.cema.administration.domain.bovine.Bovine;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves bovines by tag for the duration of a single report computation, looking up every distinct tag once
+ * through the bulk bovine list endpoint.
+ */
+public class BovineResolver {
+
+    private final BovineClientService bovineClientService;
+    private final Map<String, Bovine> bovines = new HashMap<>();
+    private final Set<String> resolvedTags = new HashSet<>();
+
+    public BovineResolver(BovineClientService bovineClientService) {
+        this.bovineClientService = bovineClientService;
+    }
+
+    public synchronized void resolve(Collection<String> tags) {
+        List<String> pendingTags = tags.stream()
+                .filter(Objects::nonNull)
+                .filter(tag -> !resolvedTags.contains(tag))
+                .distinct()
+                .collect(Collectors.toList());
+        if (pendingTags.isEmpty()) {
+            return;
+        }
+        bovines.putAll(bovineClientService.getBovinesByTag(pendingTags));
+        resolvedTags.addAll(pendingTags);
+    }
+
+    public synchronized Bovine getBovine(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        if (!resolvedTags.contains(tag)) {
+            resolve(Collections.singletonList(tag));
+        }
+        return bovines.get(tag);
+    }
+}
@@ -0,0 +1,42 @@
+package com.cema.administration.services.client.bovine.impl;
+
+import com.cema.administration.config.AsyncConfig;
+import com.cema.administration.domain.bovine.Batch;
+import com.cema.administration.domain.bovine.Bovine;
+import com.cema.administration.services.client.bovine.AsyncBovineClientService;
+import com.cema.administration.services.client.bovine.BovineClientService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class AsyncBovineClientServiceImpl implements AsyncBovineClientService {
+
+    private final BovineClientService bovineClientService;
+
+    public AsyncBovineClientServiceImpl(BovineClientService bovineClientService) {
+        this.bovineClientService = bovineClientService;
+    }
+
+    @Async(AsyncConfig.CLIENT_EXECUTOR)
+    @Override
+    public CompletableFuture<List<Bovine>> getAllBovines() {
+        return CompletableFuture.completedFuture(bovineClientService.getAllBovines());
+    }
+
+    @Async(AsyncConfig.CLIENT_EXECUTOR)
+    @Override
+    public CompletableFuture<List<Batch>> getAllBatches() {
+        return CompletableFuture.completedFuture(bovineClientService.getAllBatches());
+    }
+
+    @Async(AsyncConfig.CLIENT_EXECUTOR)
+    @Override
+    public CompletableFuture<Map<String, Bovine>> getBovinesByTag(Collection<String> tags) {
+        return CompletableFuture.completedFuture(bovineClientService.getBovinesByTag(tags));
+    }
+}
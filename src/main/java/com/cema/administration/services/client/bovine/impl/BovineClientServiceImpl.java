@@ -5,6 +5,8 @@ import com.cema.administration.domain.bovine.Batch;
 import com.cema.administration.domain.bovine.Bovine;
 import com.cema.administration.exceptions.ValidationException;
 import com.cema.administration.services.authorization.AuthorizationService;
+import com.cema.administration.services.client.ClientStreams;
+import com.cema.administration.services.client.PagedFetcher;
 import com.cema.administration.services.client.bovine.BovineClientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
@@ -15,16 +17,24 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 public class BovineClientServiceImpl implements BovineClientService {
     private static final String AUTHORIZATION_HEADER = "Authorization";
-    private static final String PATH_LIST_ALL_BOVINES = "bovines/search?size=999";
+    private static final String PATH_LIST_ALL_BOVINES = "bovines/search";
     private static final String PATH_GET_BOVINE = "bovines/{tag}";
     private static final String PATH_LIST_ALL_BATCHES = "batches/list";
     private static final String PATH_LIST_ALL_BOVINES_FROM_TAGS = "bovines/list";
@@ -32,13 +42,20 @@ public class BovineClientServiceImpl implements BovineClientService {
     private final RestTemplate restTemplate;
     private final String url;
     private final AuthorizationService authorizationService;
+    private final PagedFetcher pagedFetcher;
+    private final int chunkSize;
     private final ObjectMapper mapper = new ObjectMapper();
+    // Configured like the message converter of the rest template
+    private final ObjectMapper streamMapper = Jackson2ObjectMapperBuilder.json().build();
 
     public BovineClientServiceImpl(RestTemplate restTemplate, @Value("${back-end.bovine.url}") String url,
-                                   AuthorizationService authorizationService) {
+                                   AuthorizationService authorizationService, PagedFetcher pagedFetcher,
+                                   @Value("${back-end.bovine.chunk-size:500}") int chunkSize) {
         this.restTemplate = restTemplate;
         this.url = url;
         this.authorizationService = authorizationService;
+        this.pagedFetcher = pagedFetcher;
+        this.chunkSize = chunkSize;
     }
 
     @SneakyThrows
@@ -62,39 +79,27 @@ public class BovineClientServiceImpl implements BovineClientService {
         }
     }
 
-    @SneakyThrows
     @Override
     public List<Bovine> getAllBovines() {
-        String authToken = authorizationService.getUserAuthToken();
-        String searchUrl = url + PATH_LIST_ALL_BOVINES;
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.add(AUTHORIZATION_HEADER, authToken);
-        HttpEntity entity = new HttpEntity(httpHeaders);
-        try {
-        ResponseEntity<List<Bovine>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.GET, entity,
-                new ParameterizedTypeReference<List<Bovine>>() {});
-        return responseEntity.getBody();
-        } catch (RestClientResponseException httpClientErrorException) {
-            if (httpClientErrorException.getRawStatusCode() == 404) {
-                return null;
-            }
-            String response = httpClientErrorException.getResponseBodyAsString();
-            ErrorResponse errorResponse = mapper.readValue(response, ErrorResponse.class);
-            throw new ValidationException(errorResponse.getMessage(), httpClientErrorException);
-        }
+        return pagedFetcher.getAll(listPages(PATH_LIST_ALL_BOVINES, Bovine.class));
+    }
+
+    @Override
+    public List<Batch> getAllBatches() {
+        return pagedFetcher.getAll(listPages(PATH_LIST_ALL_BATCHES, Batch.class));
     }
 
     @SneakyThrows
     @Override
-    public List<Batch> getAllBatches(){
+    public List<Bovine> getAllBovinesFromList(List<String> tags){
         String authToken = authorizationService.getUserAuthToken();
-        String searchUrl = url + PATH_LIST_ALL_BATCHES;
+        String searchUrl = url + PATH_LIST_ALL_BOVINES_FROM_TAGS;
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.add(AUTHORIZATION_HEADER, authToken);
         httpHeaders.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity entity = new HttpEntity("{}", httpHeaders);
+        HttpEntity<List<String>> entity = new HttpEntity<>(tags, httpHeaders);
         try {
-            ResponseEntity<List<Batch>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.GET, entity, new ParameterizedTypeReference<List<Batch>>() {
+            ResponseEntity<List<Bovine>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.POST, entity, new ParameterizedTypeReference<List<Bovine>>() {
             });
             return responseEntity.getBody();
         } catch (RestClientResponseException httpClientErrorException) {
@@ -107,22 +112,41 @@ public class BovineClientServiceImpl implements BovineClientService {
         }
     }
 
-    @SneakyThrows
     @Override
-    public List<Bovine> getAllBovinesFromList(List<String> tags){
+    public Map<String, Bovine> getBovinesByTag(Collection<String> tags) {
+        List<String> distinctTags = new ArrayList<>(new LinkedHashSet<>(tags));
+        Map<String, Bovine> bovines = new HashMap<>();
+        for (int from = 0; from < distinctTags.size(); from += chunkSize) {
+            List<String> chunk = distinctTags.subList(from, Math.min(from + chunkSize, distinctTags.size()));
+            List<Bovine> found = getAllBovinesFromList(new ArrayList<>(chunk));
+            if (found != null) {
+                for (Bovine bovine : found) {
+                    bovines.put(bovine.getTag(), bovine);
+                }
+            }
+        }
+        return bovines;
+    }
+
+    // The token is read once, since the pages read ahead are requested from other threads
+    private <T> PagedFetcher.PageReader<T> listPages(String path, Class<T> type) {
         String authToken = authorizationService.getUserAuthToken();
-        String searchUrl = url + PATH_LIST_ALL_BOVINES_FROM_TAGS;
+        return (page, size, consumer) -> listPage(authToken, url + path + "?size=" + size + "&page=" + page, type, consumer);
+    }
+
+    @SneakyThrows
+    private <T> int listPage(String authToken, String searchUrl, Class<T> type, Consumer<? super T> consumer) {
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.add(AUTHORIZATION_HEADER, authToken);
         httpHeaders.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<List<String>> entity = new HttpEntity<>(tags, httpHeaders);
+        httpHeaders.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        HttpEntity<String> entity = new HttpEntity<>("{}", httpHeaders);
         try {
-            ResponseEntity<List<Bovine>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.POST, entity, new ParameterizedTypeReference<List<Bovine>>() {
-            });
-            return responseEntity.getBody();
+            return restTemplate.execute(searchUrl, HttpMethod.GET, restTemplate.httpEntityCallback(entity),
+                    ClientStreams.forEachElement(streamMapper, type, consumer));
         } catch (RestClientResponseException httpClientErrorException) {
             if (httpClientErrorException.getRawStatusCode() == 404) {
-                return null;
+                return 0;
             }
             String response = httpClientErrorException.getResponseBodyAsString();
             ErrorResponse errorResponse = mapper.readValue(response, ErrorResponse.class);
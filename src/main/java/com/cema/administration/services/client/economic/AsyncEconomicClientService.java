@@ -0,0 +1,16 @@
+package com.cema.administration.services.client.economic;
+
+import com.cema.administration.domain.economic.BovineOperation;
+import com.cema.administration.domain.economic.Supply;
+import com.cema.administration.domain.economic.SupplyOperation;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncEconomicClientService {
+    CompletableFuture<Supply> getSupply(String name);
+
+    CompletableFuture<List<SupplyOperation>> getAllSupplyOperations();
+
+    CompletableFuture<List<BovineOperation>> getAllBovineOperations();
+}
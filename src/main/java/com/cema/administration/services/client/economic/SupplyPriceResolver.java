@@ -0,0 +1,33 @@
+package com.cema.administration.services.client.economic;
+
+import com.cema.administration.domain.economic.Supply;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the unit price of every supply looked up during a report computation so each distinct supply is requested
+ * from the economic service at most once.
+ */
+public class SupplyPriceResolver {
+
+    private final EconomicClientService economicClientService;
+    private final Map<String, Long> prices = new HashMap<>();
+
+    public SupplyPriceResolver(EconomicClientService economicClientService) {
+        this.economicClientService = economicClientService;
+    }
+
+    public synchronized long getPrice(String supplyName) {
+        if (supplyName == null) {
+            return 0L;
+        }
+        Long price = prices.get(supplyName);
+        if (price == null) {
+            Supply supply = economicClientService.getSupply(supplyName);
+            price = supply != null && supply.getPrice() != null ? supply.getPrice() : 0L;
+            prices.put(supplyName, price);
+        }
+        return price;
+    }
+}
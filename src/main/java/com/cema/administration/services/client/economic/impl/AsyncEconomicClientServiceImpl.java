@@ -0,0 +1,41 @@
+package com.cema.administration.services.client.economic.impl;
+
+import com.cema.administration.config.AsyncConfig;
+import com.cema.administration.domain.economic.BovineOperation;
+import com.cema.administration.domain.economic.Supply;
+import com.cema.administration.domain.economic.SupplyOperation;
+import com.cema.administration.services.client.economic.AsyncEconomicClientService;
+import com.cema.administration.services.client.economic.EconomicClientService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class AsyncEconomicClientServiceImpl implements AsyncEconomicClientService {
+
+    private final EconomicClientService economicClientService;
+
+    public AsyncEconomicClientServiceImpl(EconomicClientService economicClientService) {
+        this.economicClientService = economicClientService;
+    }
+
+    @Async(AsyncConfig.CLIENT_EXECUTOR)
+    @Override
+    public CompletableFuture<Supply> getSupply(String name) {
+        return CompletableFuture.completedFuture(economicClientService.getSupply(name));
+    }
+
+    @Async(AsyncConfig.CLIENT_EXECUTOR)
+    @Override
+    public CompletableFuture<List<SupplyOperation>> getAllSupplyOperations() {
+        return CompletableFuture.completedFuture(economicClientService.getAllSupplyOperations());
+    }
+
+    @Async(AsyncConfig.CLIENT_EXECUTOR)
+    @Override
+    public CompletableFuture<List<BovineOperation>> getAllBovineOperations() {
+        return CompletableFuture.completedFuture(economicClientService.getAllBovineOperations());
+    }
+}
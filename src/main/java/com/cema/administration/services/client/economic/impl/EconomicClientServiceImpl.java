@@ -7,38 +7,47 @@ import com.cema.administration.domain.economic.Supply;
 import com.cema.administration.domain.economic.SupplyOperation;
 import com.cema.administration.exceptions.ValidationException;
 import com.cema.administration.services.authorization.AuthorizationService;
+import com.cema.administration.services.client.ClientStreams;
+import com.cema.administration.services.client.PagedFetcher;
 import com.cema.administration.services.client.economic.EconomicClientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class EconomicClientServiceImpl implements EconomicClientService {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String PATH_GET_SUPPLY = "supply/{name}";
-    private static final String PATH_GET_ALL_SUPPLY_OPERATIONS = "/supply-operations/list?size=999";
-    private static final String PATH_GET_ALL_BOVINE_OPERATIONS = "/bovine-operations/list?size=999";
+    private static final String PATH_GET_ALL_SUPPLY_OPERATIONS = "/supply-operations/list";
+    private static final String PATH_GET_ALL_BOVINE_OPERATIONS = "/bovine-operations/list";
 
     private final RestTemplate restTemplate;
     private final String url;
     private final AuthorizationService authorizationService;
+    private final PagedFetcher pagedFetcher;
     private final ObjectMapper mapper = new ObjectMapper();
+    // Configured like the message converter of the rest template
+    private final ObjectMapper streamMapper = Jackson2ObjectMapperBuilder.json().build();
 
-    public EconomicClientServiceImpl(RestTemplate restTemplate, @Value("${back-end.economic.url}") String url, AuthorizationService authorizationService) {
+    public EconomicClientServiceImpl(RestTemplate restTemplate, @Value("${back-end.economic.url}") String url, AuthorizationService authorizationService,
+                                     PagedFetcher pagedFetcher) {
         this.restTemplate = restTemplate;
         this.url = url;
         this.authorizationService = authorizationService;
+        this.pagedFetcher = pagedFetcher;
     }
 
     @SneakyThrows
@@ -60,39 +69,32 @@ public class EconomicClientServiceImpl implements EconomicClientService {
         }
     }
 
-    @SneakyThrows
     @Override
     public List<SupplyOperation> getAllSupplyOperations() {
-        String authToken = authorizationService.getUserAuthToken();
-        String searchUrl = url + PATH_GET_ALL_SUPPLY_OPERATIONS;
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.add(AUTHORIZATION_HEADER, authToken);
-        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity entity = new HttpEntity("{}", httpHeaders);
-        try {
-            ResponseEntity<List<SupplyOperation>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.GET, entity,
-                    new ParameterizedTypeReference<List<SupplyOperation>>() {});
-            return responseEntity.getBody();
-        } catch (RestClientResponseException httpClientErrorException) {
-            String response = httpClientErrorException.getResponseBodyAsString();
-            ErrorResponse errorResponse = mapper.readValue(response, ErrorResponse.class);
-            throw new ValidationException(errorResponse.getMessage(), httpClientErrorException);
-        }
+        return pagedFetcher.getAll(listPages(PATH_GET_ALL_SUPPLY_OPERATIONS, SupplyOperation.class));
     }
 
-    @SneakyThrows
     @Override
     public List<BovineOperation> getAllBovineOperations() {
+        return pagedFetcher.getAll(listPages(PATH_GET_ALL_BOVINE_OPERATIONS, BovineOperation.class));
+    }
+
+    // The token is read once, since the pages read ahead are requested from other threads
+    private <T> PagedFetcher.PageReader<T> listPages(String path, Class<T> type) {
         String authToken = authorizationService.getUserAuthToken();
-        String searchUrl = url + PATH_GET_ALL_BOVINE_OPERATIONS;
+        return (page, size, consumer) -> listPage(authToken, url + path + "?size=" + size + "&page=" + page, type, consumer);
+    }
+
+    @SneakyThrows
+    private <T> int listPage(String authToken, String searchUrl, Class<T> type, Consumer<? super T> consumer) {
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.add(AUTHORIZATION_HEADER, authToken);
         httpHeaders.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity entity = new HttpEntity("{}", httpHeaders);
+        httpHeaders.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        HttpEntity<String> entity = new HttpEntity<>("{}", httpHeaders);
         try {
-            ResponseEntity<List<BovineOperation>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.GET, entity,
-                    new ParameterizedTypeReference<List<BovineOperation>>() {});
-            return responseEntity.getBody();
+            return restTemplate.execute(searchUrl, HttpMethod.GET, restTemplate.httpEntityCallback(entity),
+                    ClientStreams.forEachElement(streamMapper, type, consumer));
         } catch (RestClientResponseException httpClientErrorException) {
             String response = httpClientErrorException.getResponseBodyAsString();
             ErrorResponse errorResponse = mapper.readValue(response, ErrorResponse.class);
@@ -0,0 +1,11 @@
+package com.cema.administration.services.client.health;
+
+import com.cema.administration.domain.health.Illness;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncHealthClientService {
+    CompletableFuture<List<Illness>> getAllBovineIllness(LocalDate startedFrom);
+}
@@ -3,9 +3,15 @@ package com.cema.administration.services.client.health;
 import com.cema.administration.domain.health.Illness;
 import lombok.SneakyThrows;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface HealthClientService {
     @SneakyThrows
     List<Illness> getAllBovineIllness();
+
+    List<Illness> getAllBovineIllness(LocalDate startedFrom);
+
+    void forEachBovineIllness(LocalDate startedFrom, Consumer<? super Illness> consumer);
 }
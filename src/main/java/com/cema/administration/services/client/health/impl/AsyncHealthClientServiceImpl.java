@@ -0,0 +1,28 @@
+package com.cema.administration.services.client.health.impl;
+
+import com.cema.administration.config.AsyncConfig;
+import com.cema.administration.domain.health.Illness;
+import com.cema.administration.services.client.health.AsyncHealthClientService;
+import com.cema.administration.services.client.health.HealthClientService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class AsyncHealthClientServiceImpl implements AsyncHealthClientService {
+
+    private final HealthClientService healthClientService;
+
+    public AsyncHealthClientServiceImpl(HealthClientService healthClientService) {
+        this.healthClientService = healthClientService;
+    }
+
+    @Async(AsyncConfig.CLIENT_EXECUTOR)
+    @Override
+    public CompletableFuture<List<Illness>> getAllBovineIllness(LocalDate startedFrom) {
+        return CompletableFuture.completedFuture(healthClientService.getAllBovineIllness(startedFrom));
+    }
+}
@@ -4,59 +4,92 @@ import com.cema.administration.domain.ErrorResponse;
 import com.cema.administration.domain.health.Illness;
 import com.cema.administration.exceptions.ValidationException;
 import com.cema.administration.services.authorization.AuthorizationService;
+import com.cema.administration.services.client.ClientStreams;
+import com.cema.administration.services.client.PagedFetcher;
 import com.cema.administration.services.client.health.HealthClientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class HealthClientServiceImpl implements HealthClientService {
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
-    private static final String PATH_LIST_ILLNESS = "illness/list?size=9999&page=0";
+    private static final String PATH_LIST_ILLNESS = "illness/list";
+    private static final String PARAM_STARTING_DATE_FROM = "startingDateFrom";
 
     private final RestTemplate restTemplate;
     private final String url;
     private final AuthorizationService authorizationService;
+    private final PagedFetcher pagedFetcher;
     private final ObjectMapper mapper = new ObjectMapper();
+    // Configured like the message converter of the rest template
+    private final ObjectMapper streamMapper = Jackson2ObjectMapperBuilder.json().build();
 
-    public HealthClientServiceImpl(RestTemplate restTemplate, @Value("${back-end.health.url}") String url, AuthorizationService authorizationService) {
+    public HealthClientServiceImpl(RestTemplate restTemplate, @Value("${back-end.health.url}") String url, AuthorizationService authorizationService,
+                                   PagedFetcher pagedFetcher) {
         this.restTemplate = restTemplate;
         this.url = url;
         this.authorizationService = authorizationService;
+        this.pagedFetcher = pagedFetcher;
     }
 
-    @SneakyThrows
     @Override
     public List<Illness> getAllBovineIllness() {
+        return getAllBovineIllness(null);
+    }
+
+    @Override
+    public List<Illness> getAllBovineIllness(LocalDate startedFrom) {
+        return pagedFetcher.getAll(illnessPages(startedFrom));
+    }
+
+    @Override
+    public void forEachBovineIllness(LocalDate startedFrom, Consumer<? super Illness> consumer) {
+        pagedFetcher.forEach(illnessPages(startedFrom), consumer);
+    }
+
+    // The token is read once, since the pages read ahead are requested from other threads
+    private PagedFetcher.PageReader<Illness> illnessPages(LocalDate startedFrom) {
         String authToken = authorizationService.getUserAuthToken();
-        String searchUrl = url + PATH_LIST_ILLNESS;
+        return (page, size, consumer) -> listPage(authToken, pageUrl(page, size, startedFrom), consumer);
+    }
+
+    @SneakyThrows
+    private int listPage(String authToken, String searchUrl, Consumer<? super Illness> consumer) {
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.add(AUTHORIZATION_HEADER, authToken);
         httpHeaders.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity entity = new HttpEntity("{}", httpHeaders);
+        httpHeaders.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        HttpEntity<String> entity = new HttpEntity<>("{}", httpHeaders);
         try {
-            ResponseEntity<List<Illness>> responseEntity = restTemplate.exchange(searchUrl, HttpMethod.GET, entity, new ParameterizedTypeReference<List<Illness>>() {
-            });
-            return responseEntity.getBody();
+            return restTemplate.execute(searchUrl, HttpMethod.GET, restTemplate.httpEntityCallback(entity),
+                    ClientStreams.forEachElement(streamMapper, Illness.class, consumer));
         } catch (RestClientResponseException httpClientErrorException) {
             if (httpClientErrorException.getRawStatusCode() == 404) {
-                return null;
+                return 0;
             }
             String response = httpClientErrorException.getResponseBodyAsString();
             ErrorResponse errorResponse = mapper.readValue(response, ErrorResponse.class);
             throw new ValidationException(errorResponse.getMessage(), httpClientErrorException);
         }
     }
+
+    private String pageUrl(int page, int size, LocalDate startedFrom) {
+        String pageUrl = url + PATH_LIST_ILLNESS + "?size=" + size + "&page=" + page;
+        return startedFrom == null ? pageUrl : pageUrl + "&" + PARAM_STARTING_DATE_FROM + "=" + startedFrom;
+    }
 }
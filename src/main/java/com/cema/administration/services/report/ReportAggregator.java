@@ -0,0 +1,117 @@
+package com.cema.administration.services.report;
+
+import com.cema.administration.domain.report.ReportAggregate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sums values and counts rows by year and dimension, skipping the years before the one being refreshed.
+ * <p>
+ * Dimensions are interned to dense ids and the totals live in an open addressing table keyed by the year and the
+ * dimension id, so adding a row of a known year and dimension allocates nothing.
+ */
+public class ReportAggregator {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int fromYear;
+    private final Map<String, Integer> dimensionIds = new HashMap<>();
+    private final List<String> dimensions = new ArrayList<>();
+    private String lastDimension;
+    private int lastDimensionId = -1;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public ReportAggregator(int fromYear) {
+        this.fromYear = fromYear;
+    }
+
+    public void add(int year, String dimension, long value) {
+        if (year < fromYear) {
+            return;
+        }
+        long key = toKey(year, getDimensionId(dimension));
+        int slot = findSlot(keys, used, key);
+        if (!used[slot]) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+                slot = findSlot(keys, used, key);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] += value;
+        counts[slot]++;
+    }
+
+    public List<ReportAggregate> getAggregates() {
+        List<ReportAggregate> aggregates = new ArrayList<>(size);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                int year = (int) (keys[slot] >> 32);
+                String dimension = dimensions.get((int) keys[slot]);
+                aggregates.add(new ReportAggregate(year, dimension, values[slot], counts[slot]));
+            }
+        }
+        return aggregates;
+    }
+
+    private int getDimensionId(String dimension) {
+        // Most calculators add rows of a single constant dimension in a row
+        if (dimension == lastDimension && lastDimensionId >= 0) {
+            return lastDimensionId;
+        }
+        Integer dimensionId = dimensionIds.get(dimension);
+        if (dimensionId == null) {
+            dimensionId = dimensions.size();
+            dimensions.add(dimension);
+            dimensionIds.put(dimension, dimensionId);
+        }
+        lastDimension = dimension;
+        lastDimensionId = dimensionId;
+        return dimensionId;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        long[] oldValues = values;
+        long[] oldCounts = counts;
+        int capacity = oldKeys.length * 2;
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        values = new long[capacity];
+        counts = new long[capacity];
+        for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+            if (oldUsed[oldSlot]) {
+                int slot = findSlot(keys, used, oldKeys[oldSlot]);
+                used[slot] = true;
+                keys[slot] = oldKeys[oldSlot];
+                values[slot] = oldValues[oldSlot];
+                counts[slot] = oldCounts[oldSlot];
+            }
+        }
+    }
+
+    private static long toKey(int year, int dimensionId) {
+        return ((long) year << 32) | (dimensionId & 0xFFFFFFFFL);
+    }
+
+    private static int findSlot(long[] keys, boolean[] used, long key) {
+        int mask = keys.length - 1;
+        long hash = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
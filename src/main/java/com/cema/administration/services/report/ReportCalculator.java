@@ -0,0 +1,33 @@
+package com.cema.administration.services.report;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.YearlyReport;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public interface ReportCalculator {
+
+    int ALL_YEARS = Integer.MIN_VALUE;
+
+    ReportType getType();
+
+    Set<ReportDataSet> getDataSets();
+
+    /**
+     * The data sets read in a single pass, which can be streamed from the upstream service when no other report
+     * of the snapshot needs them.
+     */
+    default Set<ReportDataSet> getStreamedDataSets() {
+        return EnumSet.noneOf(ReportDataSet.class);
+    }
+
+    /**
+     * Aggregates the snapshot data of the years from fromYear onwards, or of every year when given ALL_YEARS.
+     */
+    List<ReportAggregate> aggregate(ReportDataSnapshot data, int fromYear);
+
+    YearlyReport buildReport(List<ReportAggregate> aggregates);
+}
@@ -0,0 +1,26 @@
+package com.cema.administration.services.report;
+
+/**
+ * The upstream data sets the reports are computed from. Dated data sets can be fetched from a given year onwards,
+ * the upstream service filtering them by their date.
+ */
+public enum ReportDataSet {
+    ULTRASOUNDS(true),
+    WEIGHTINGS(true),
+    FEEDINGS(true),
+    ILLNESSES(true),
+    BOVINES(false),
+    BATCHES(false),
+    SUPPLY_OPERATIONS(false),
+    BOVINE_OPERATIONS(false);
+
+    private final boolean dated;
+
+    ReportDataSet(boolean dated) {
+        this.dated = dated;
+    }
+
+    public boolean isDated() {
+        return dated;
+    }
+}
@@ -0,0 +1,219 @@
+package com.cema.administration.services.report;
+
+import com.cema.administration.domain.activity.Feeding;
+import com.cema.administration.domain.activity.Ultrasound;
+import com.cema.administration.domain.activity.Weighing;
+import com.cema.administration.domain.bovine.Batch;
+import com.cema.administration.domain.bovine.Bovine;
+import com.cema.administration.domain.economic.BovineOperation;
+import com.cema.administration.domain.economic.SupplyOperation;
+import com.cema.administration.domain.health.Illness;
+import com.cema.administration.services.client.ClientFutures;
+import com.cema.administration.services.client.activity.ActivityClientService;
+import com.cema.administration.services.client.activity.AsyncActivityClientService;
+import com.cema.administration.services.client.bovine.AsyncBovineClientService;
+import com.cema.administration.services.client.bovine.BovineClientService;
+import com.cema.administration.services.client.bovine.BovineResolver;
+import com.cema.administration.services.client.economic.AsyncEconomicClientService;
+import com.cema.administration.services.client.economic.EconomicClientService;
+import com.cema.administration.services.client.economic.SupplyPriceResolver;
+import com.cema.administration.services.client.health.AsyncHealthClientService;
+import com.cema.administration.services.client.health.HealthClientService;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * The upstream data of one report computation. Every data set is fetched at most once and shared by all the reports
+ * computed from the snapshot; prefetching starts the fetches in parallel before they are needed.
+ * <p>
+ * Dated data sets are fetched from the year asked for onwards. A fetch also serves the later years, so it is only
+ * repeated when an earlier year is asked for; the records are still filtered by year when aggregated, since the
+ * window is only a hint to the upstream service.
+ * <p>
+ * Data sets that were not prefetched can be streamed instead: their records are handed one by one to the
+ * calculator as they are read from the response, without holding the list in memory.
+ */
+public class ReportDataSnapshot {
+
+    private final ActivityClientService activityClientService;
+    private final HealthClientService healthClientService;
+    private final AsyncActivityClientService asyncActivityClientService;
+    private final AsyncBovineClientService asyncBovineClientService;
+    private final AsyncHealthClientService asyncHealthClientService;
+    private final AsyncEconomicClientService asyncEconomicClientService;
+    private final BovineResolver bovineResolver;
+    private final SupplyPriceResolver supplyPriceResolver;
+    private final Map<ReportDataSet, Fetch> fetches = new EnumMap<>(ReportDataSet.class);
+
+    public ReportDataSnapshot(ActivityClientService activityClientService, HealthClientService healthClientService,
+                              AsyncActivityClientService asyncActivityClientService,
+                              AsyncBovineClientService asyncBovineClientService,
+                              AsyncHealthClientService asyncHealthClientService,
+                              AsyncEconomicClientService asyncEconomicClientService,
+                              BovineClientService bovineClientService, EconomicClientService economicClientService) {
+        this.activityClientService = activityClientService;
+        this.healthClientService = healthClientService;
+        this.asyncActivityClientService = asyncActivityClientService;
+        this.asyncBovineClientService = asyncBovineClientService;
+        this.asyncHealthClientService = asyncHealthClientService;
+        this.asyncEconomicClientService = asyncEconomicClientService;
+        this.bovineResolver = new BovineResolver(bovineClientService);
+        this.supplyPriceResolver = new SupplyPriceResolver(economicClientService);
+    }
+
+    public void prefetch(Collection<ReportDataSet> dataSets, int fromYear) {
+        dataSets.forEach(dataSet -> fetch(dataSet, fromYear));
+    }
+
+    public List<Feeding> getFeedings(int fromYear) {
+        return join(ReportDataSet.FEEDINGS, fromYear);
+    }
+
+    public void forEachUltrasound(int fromYear, Consumer<? super Ultrasound> consumer) {
+        List<Ultrasound> ultrasounds = getFetched(ReportDataSet.ULTRASOUNDS, fromYear);
+        if (ultrasounds != null) {
+            ultrasounds.forEach(consumer);
+        } else {
+            activityClientService.forEachUltrasound(toDate(fromYear), consumer);
+        }
+    }
+
+    public void forEachWeighing(int fromYear, Consumer<? super Weighing> consumer) {
+        List<Weighing> weightings = getFetched(ReportDataSet.WEIGHTINGS, fromYear);
+        if (weightings != null) {
+            weightings.forEach(consumer);
+        } else {
+            activityClientService.forEachWeighing(toDate(fromYear), consumer);
+        }
+    }
+
+    public void forEachFeeding(int fromYear, Consumer<? super Feeding> consumer) {
+        List<Feeding> feedings = getFetched(ReportDataSet.FEEDINGS, fromYear);
+        if (feedings != null) {
+            feedings.forEach(consumer);
+        } else {
+            activityClientService.forEachFeeding(toDate(fromYear), consumer);
+        }
+    }
+
+    public void forEachIllness(int fromYear, Consumer<? super Illness> consumer) {
+        List<Illness> illnesses = getFetched(ReportDataSet.ILLNESSES, fromYear);
+        if (illnesses != null) {
+            illnesses.forEach(consumer);
+        } else {
+            healthClientService.forEachBovineIllness(toDate(fromYear), consumer);
+        }
+    }
+
+    public List<Bovine> getBovines() {
+        return join(ReportDataSet.BOVINES, ReportCalculator.ALL_YEARS);
+    }
+
+    public List<Batch> getBatches() {
+        return join(ReportDataSet.BATCHES, ReportCalculator.ALL_YEARS);
+    }
+
+    public List<SupplyOperation> getSupplyOperations() {
+        return join(ReportDataSet.SUPPLY_OPERATIONS, ReportCalculator.ALL_YEARS);
+    }
+
+    public List<BovineOperation> getBovineOperations() {
+        return join(ReportDataSet.BOVINE_OPERATIONS, ReportCalculator.ALL_YEARS);
+    }
+
+    public CompletableFuture<Map<String, List<Weighing>>> getLastWeightingsForBovines(Collection<String> bovineTags) {
+        return asyncActivityClientService.getLastWeightingsForBovines(bovineTags);
+    }
+
+    public BovineResolver getBovineResolver() {
+        return bovineResolver;
+    }
+
+    public SupplyPriceResolver getSupplyPriceResolver() {
+        return supplyPriceResolver;
+    }
+
+    private <T> List<T> join(ReportDataSet dataSet, int fromYear) {
+        return join(fetch(dataSet, fromYear));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> join(CompletableFuture<? extends List<?>> records) {
+        List<T> joined = (List<T>) ClientFutures.join(records);
+        return joined != null ? joined : Collections.emptyList();
+    }
+
+    /**
+     * The records of a fetch already covering the given year, or null when the data set has to be read again.
+     */
+    private <T> List<T> getFetched(ReportDataSet dataSet, int fromYear) {
+        CompletableFuture<? extends List<?>> records;
+        synchronized (this) {
+            Fetch fetch = fetches.get(dataSet);
+            if (fetch == null || fetch.fromYear > getWindowYear(dataSet, fromYear)) {
+                return null;
+            }
+            records = fetch.records;
+        }
+        return join(records);
+    }
+
+    private synchronized CompletableFuture<? extends List<?>> fetch(ReportDataSet dataSet, int fromYear) {
+        int windowYear = getWindowYear(dataSet, fromYear);
+        Fetch fetch = fetches.get(dataSet);
+        if (fetch == null || fetch.fromYear > windowYear) {
+            fetch = new Fetch(windowYear, startFetch(dataSet, windowYear));
+            fetches.put(dataSet, fetch);
+        }
+        return fetch.records;
+    }
+
+    private int getWindowYear(ReportDataSet dataSet, int fromYear) {
+        return dataSet.isDated() ? fromYear : ReportCalculator.ALL_YEARS;
+    }
+
+    private LocalDate toDate(int fromYear) {
+        return fromYear == ReportCalculator.ALL_YEARS ? null : LocalDate.of(fromYear, 1, 1);
+    }
+
+    private CompletableFuture<? extends List<?>> startFetch(ReportDataSet dataSet, int fromYear) {
+        LocalDate fromDate = toDate(fromYear);
+        switch (dataSet) {
+            case ULTRASOUNDS:
+                return asyncActivityClientService.getAllUltrasounds(fromDate);
+            case WEIGHTINGS:
+                return asyncActivityClientService.getAllWeightings(fromDate);
+            case FEEDINGS:
+                return asyncActivityClientService.getAllFeedings(fromDate);
+            case ILLNESSES:
+                return asyncHealthClientService.getAllBovineIllness(fromDate);
+            case BOVINES:
+                return asyncBovineClientService.getAllBovines();
+            case BATCHES:
+                return asyncBovineClientService.getAllBatches();
+            case SUPPLY_OPERATIONS:
+                return asyncEconomicClientService.getAllSupplyOperations();
+            case BOVINE_OPERATIONS:
+                return asyncEconomicClientService.getAllBovineOperations();
+            default:
+                throw new IllegalArgumentException("Unknown report data set " + dataSet);
+        }
+    }
+
+    private static final class Fetch {
+        private final int fromYear;
+        private final CompletableFuture<? extends List<?>> records;
+
+        private Fetch(int fromYear, CompletableFuture<? extends List<?>> records) {
+            this.fromYear = fromYear;
+            this.records = records;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.cema.administration.services.report;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.YearlyReport;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReportService {
+
+    YearlyReport getReport(ReportType reportType, int yearFrom, int yearTo);
+
+    List<YearlyReport> getReports(Collection<ReportType> reportTypes, int yearFrom, int yearTo);
+}
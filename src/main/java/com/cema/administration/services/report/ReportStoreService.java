@@ -0,0 +1,16 @@
+package com.cema.administration.services.report;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.entities.CemaReportRefresh;
+
+import java.util.List;
+
+public interface ReportStoreService {
+
+    CemaReportRefresh getRefresh(String cuig, ReportType reportType);
+
+    List<ReportAggregate> getAggregates(String cuig, ReportType reportType, int yearFrom, int yearTo);
+
+    void replaceAggregates(String cuig, ReportType reportType, int fromYear, int openYear, List<ReportAggregate> aggregates);
+}
@@ -0,0 +1,96 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.activity.Weighing;
+import com.cema.administration.domain.bovine.Batch;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.Weight;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.services.client.ClientFutures;
+import com.cema.administration.services.client.bovine.BovineResolver;
+import com.cema.administration.services.report.ReportAggregator;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.ReportDataSet;
+import com.cema.administration.services.report.ReportDataSnapshot;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+@Service
+public class BatchReportCalculator implements ReportCalculator {
+
+    @Override
+    public ReportType getType() {
+        return ReportType.BATCH;
+    }
+
+    @Override
+    public Set<ReportDataSet> getDataSets() {
+        return EnumSet.of(ReportDataSet.BATCHES);
+    }
+
+    @Override
+    public List<ReportAggregate> aggregate(ReportDataSnapshot data, int fromYear) {
+        List<Batch> batches = data.getBatches();
+
+        Set<String> bovineTags = batches.stream()
+                .map(Batch::getBovineTags)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        CompletableFuture<Map<String, List<Weighing>>> weightingsFuture = data.getLastWeightingsForBovines(bovineTags);
+        BovineResolver bovineResolver = data.getBovineResolver();
+        bovineResolver.resolve(bovineTags);
+        Map<String, List<Weighing>> weightingsByTag = ClientFutures.join(weightingsFuture);
+
+        ReportAggregator aggregator = new ReportAggregator(fromYear);
+
+        for (Batch batch : batches) {
+            String batchName = batch.getBatchName();
+            if (batch.getBovineTags() == null) {
+                continue;
+            }
+
+            for (String tag : new HashSet<>(batch.getBovineTags())) {
+                if (bovineResolver.getBovine(tag) == null) {
+                    continue;
+                }
+                List<Weighing> weightings = weightingsByTag.getOrDefault(tag, Collections.emptyList());
+
+                for (Weighing weighing : weightings) {
+                    aggregator.add(weighing.getExecutionYear(), batchName, weighing.getWeightSafely());
+                }
+            }
+        }
+
+        return aggregator.getAggregates();
+    }
+
+    @Override
+    public YearlyReport buildReport(List<ReportAggregate> aggregates) {
+        YearlyReport batch = new YearlyReport();
+        batch.setType("batch");
+        batch.setDescription("Peso promedio anual por batch");
+        batch.setReportedList(new ArrayList<>());
+
+        for (ReportAggregate aggregate : aggregates) {
+            long averageWeight = aggregate.getValue() / aggregate.getCount();
+            batch.getReportedList().add(new Weight(aggregate.getYear(), averageWeight, aggregate.getDimension()));
+        }
+
+        batch.getReportedList().sort(null);
+
+        return batch;
+    }
+}
@@ -0,0 +1,65 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.Disease;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.services.report.ReportAggregator;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.ReportDataSet;
+import com.cema.administration.services.report.ReportDataSnapshot;
+import com.cema.administration.utils.YearBuckets;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class DiseaseReportCalculator implements ReportCalculator {
+
+    @Override
+    public ReportType getType() {
+        return ReportType.DISEASE;
+    }
+
+    @Override
+    public Set<ReportDataSet> getDataSets() {
+        return EnumSet.of(ReportDataSet.ILLNESSES);
+    }
+
+    @Override
+    public Set<ReportDataSet> getStreamedDataSets() {
+        return getDataSets();
+    }
+
+    @Override
+    public List<ReportAggregate> aggregate(ReportDataSnapshot data, int fromYear) {
+        ReportAggregator aggregator = new ReportAggregator(fromYear);
+
+        data.forEachIllness(fromYear, illness -> {
+            int year = YearBuckets.yearOf(illness.getStartingDate());
+            aggregator.add(year, illness.getDiseaseName(), 1);
+        });
+
+        return aggregator.getAggregates();
+    }
+
+    @Override
+    public YearlyReport buildReport(List<ReportAggregate> aggregates) {
+        YearlyReport diseaseReport = YearlyReport.builder()
+                .type("disease")
+                .description("Cantidad de infecciones anuales por tipo")
+                .build();
+
+        diseaseReport.setReportedList(new ArrayList<>());
+        for (ReportAggregate aggregate : aggregates) {
+            diseaseReport.getReportedList().add(new Disease(aggregate.getYear(), (int) aggregate.getCount(), aggregate.getDimension()));
+        }
+
+        diseaseReport.getReportedList().sort(null);
+
+        return diseaseReport;
+    }
+}
@@ -0,0 +1,70 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.activity.Feeding;
+import com.cema.administration.domain.bovine.Bovine;
+import com.cema.administration.domain.report.FoodConsumption;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.services.client.bovine.BovineResolver;
+import com.cema.administration.services.report.ReportAggregator;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.ReportDataSet;
+import com.cema.administration.services.report.ReportDataSnapshot;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class FeedReportCalculator implements ReportCalculator {
+
+    @Override
+    public ReportType getType() {
+        return ReportType.FEED;
+    }
+
+    @Override
+    public Set<ReportDataSet> getDataSets() {
+        return EnumSet.of(ReportDataSet.FEEDINGS);
+    }
+
+    @Override
+    public List<ReportAggregate> aggregate(ReportDataSnapshot data, int fromYear) {
+        List<Feeding> feedings = data.getFeedings(fromYear);
+
+        BovineResolver bovineResolver = data.getBovineResolver();
+        bovineResolver.resolve(feedings.stream().map(Feeding::getBovineTag).collect(Collectors.toSet()));
+
+        ReportAggregator aggregator = new ReportAggregator(fromYear);
+
+        for (Feeding feeding : feedings) {
+            Bovine bovine = bovineResolver.getBovine(feeding.getBovineTag());
+            if (bovine != null) {
+                aggregator.add(feeding.getExecutionYear(), bovine.getCategory(), feeding.getAmountSafely());
+            }
+        }
+
+        return aggregator.getAggregates();
+    }
+
+    @Override
+    public YearlyReport buildReport(List<ReportAggregate> aggregates) {
+        YearlyReport foodConsumption = YearlyReport.builder()
+                .type("foodConsumption")
+                .description("Alimento consumido anualmente por categoria")
+                .build();
+
+        foodConsumption.setReportedList(new ArrayList<>());
+        for (ReportAggregate aggregate : aggregates) {
+            foodConsumption.getReportedList().add(new FoodConsumption(aggregate.getYear(), aggregate.getValue(), aggregate.getDimension()));
+        }
+
+        foodConsumption.getReportedList().sort(null);
+
+        return foodConsumption;
+    }
+}
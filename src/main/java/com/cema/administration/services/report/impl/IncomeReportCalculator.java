@@ -0,0 +1,95 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.OperationType;
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.economic.BovineOperation;
+import com.cema.administration.domain.economic.SupplyOperation;
+import com.cema.administration.domain.report.Income;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.services.client.economic.SupplyPriceResolver;
+import com.cema.administration.services.report.ReportAggregator;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.ReportDataSet;
+import com.cema.administration.services.report.ReportDataSnapshot;
+import com.cema.administration.utils.YearBuckets;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class IncomeReportCalculator implements ReportCalculator {
+
+    private static final String EARNINGS = "earnings";
+    private static final String SPENDING = "spending";
+
+    @Override
+    public ReportType getType() {
+        return ReportType.INCOME;
+    }
+
+    @Override
+    public Set<ReportDataSet> getDataSets() {
+        return EnumSet.of(ReportDataSet.SUPPLY_OPERATIONS, ReportDataSet.BOVINE_OPERATIONS);
+    }
+
+    @Override
+    public List<ReportAggregate> aggregate(ReportDataSnapshot data, int fromYear) {
+        List<SupplyOperation> supplyOperations = data.getSupplyOperations();
+        List<BovineOperation> bovineOperations = data.getBovineOperations();
+        SupplyPriceResolver supplyPriceResolver = data.getSupplyPriceResolver();
+
+        ReportAggregator aggregator = new ReportAggregator(fromYear);
+
+        for (SupplyOperation supplyOperation : supplyOperations) {
+            if (OperationType.BUY.equalsIgnoreCase(supplyOperation.getOperationType())) {
+                int year = YearBuckets.yearOf(supplyOperation.getTransactionDate());
+                long price = supplyPriceResolver.getPrice(supplyOperation.getSupplyName());
+                aggregator.add(year, SPENDING, supplyOperation.getAmount() * price);
+            }
+        }
+
+        for (BovineOperation bovineOperation : bovineOperations) {
+            String type = bovineOperation.getOperationType();
+            int year = YearBuckets.yearOf(bovineOperation.getTransactionDate());
+
+            if (OperationType.BUY.equalsIgnoreCase(type)) {
+                aggregator.add(year, SPENDING, bovineOperation.getAmount());
+            } else if (OperationType.SELL.equalsIgnoreCase(type)) {
+                aggregator.add(year, EARNINGS, bovineOperation.getAmount());
+            }
+        }
+
+        return aggregator.getAggregates();
+    }
+
+    @Override
+    public YearlyReport buildReport(List<ReportAggregate> aggregates) {
+        Map<Integer, Long> incomeByYear = new HashMap<>();
+        Map<Integer, Long> spendingByYear = new HashMap<>();
+        for (ReportAggregate aggregate : aggregates) {
+            Map<Integer, Long> byYear = EARNINGS.equals(aggregate.getDimension()) ? incomeByYear : spendingByYear;
+            byYear.put(aggregate.getYear(), aggregate.getValue());
+        }
+
+        YearlyReport income = new YearlyReport();
+        income.setType("income");
+        income.setDescription("Gastos versus ingresos por año");
+        income.setReportedList(new ArrayList<>());
+
+        for (Integer year : incomeByYear.keySet()) {
+            long incomeAmount = incomeByYear.get(year);
+            long spendingAmount = spendingByYear.getOrDefault(year, 0L);
+            income.getReportedList().add(new Income(year, incomeAmount, spendingAmount));
+        }
+
+        income.getReportedList().sort(null);
+
+        return income;
+    }
+}
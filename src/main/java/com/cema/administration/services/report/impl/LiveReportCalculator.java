@@ -0,0 +1,58 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.bovine.Bovine;
+import com.cema.administration.domain.report.Live;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.services.report.ReportAggregator;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.ReportDataSet;
+import com.cema.administration.services.report.ReportDataSnapshot;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class LiveReportCalculator implements ReportCalculator {
+
+    @Override
+    public ReportType getType() {
+        return ReportType.LIVE;
+    }
+
+    @Override
+    public Set<ReportDataSet> getDataSets() {
+        return EnumSet.of(ReportDataSet.BOVINES);
+    }
+
+    @Override
+    public List<ReportAggregate> aggregate(ReportDataSnapshot data, int fromYear) {
+        ReportAggregator aggregator = new ReportAggregator(fromYear);
+
+        for (Bovine bovine : data.getBovines()) {
+            aggregator.add(bovine.getTaggingYear(), bovine.getCategory(), 1);
+        }
+
+        return aggregator.getAggregates();
+    }
+
+    @Override
+    public YearlyReport buildReport(List<ReportAggregate> aggregates) {
+        YearlyReport liveReport = new YearlyReport();
+        liveReport.setType("live");
+        liveReport.setDescription("Cantidad de animales vivos por categoria por año");
+        liveReport.setReportedList(new ArrayList<>());
+
+        for (ReportAggregate aggregate : aggregates) {
+            liveReport.getReportedList().add(new Live(aggregate.getYear(), (int) aggregate.getCount(), aggregate.getDimension()));
+        }
+
+        liveReport.getReportedList().sort(null);
+
+        return liveReport;
+    }
+}
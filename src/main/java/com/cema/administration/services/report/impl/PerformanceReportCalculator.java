@@ -0,0 +1,84 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.LiveCost;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.services.client.economic.SupplyPriceResolver;
+import com.cema.administration.services.report.ReportAggregator;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.ReportDataSet;
+import com.cema.administration.services.report.ReportDataSnapshot;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class PerformanceReportCalculator implements ReportCalculator {
+
+    private static final String WEIGHT = "weight";
+    private static final String SPENDING = "spending";
+
+    @Override
+    public ReportType getType() {
+        return ReportType.PERFORMANCE;
+    }
+
+    @Override
+    public Set<ReportDataSet> getDataSets() {
+        return EnumSet.of(ReportDataSet.WEIGHTINGS, ReportDataSet.FEEDINGS);
+    }
+
+    @Override
+    public Set<ReportDataSet> getStreamedDataSets() {
+        return getDataSets();
+    }
+
+    @Override
+    public List<ReportAggregate> aggregate(ReportDataSnapshot data, int fromYear) {
+        SupplyPriceResolver supplyPriceResolver = data.getSupplyPriceResolver();
+
+        ReportAggregator aggregator = new ReportAggregator(fromYear);
+
+        data.forEachWeighing(fromYear,
+                weighing -> aggregator.add(weighing.getExecutionYear(), WEIGHT, weighing.getWeightSafely()));
+
+        data.forEachFeeding(fromYear, feeding -> {
+            long price = supplyPriceResolver.getPrice(feeding.getFood());
+            aggregator.add(feeding.getExecutionYear(), SPENDING, feeding.getAmountSafely() * price);
+        });
+
+        return aggregator.getAggregates();
+    }
+
+    @Override
+    public YearlyReport buildReport(List<ReportAggregate> aggregates) {
+        Map<Integer, Long> weightByYear = new HashMap<>();
+        Map<Integer, Long> spendingByYear = new HashMap<>();
+        for (ReportAggregate aggregate : aggregates) {
+            Map<Integer, Long> byYear = WEIGHT.equals(aggregate.getDimension()) ? weightByYear : spendingByYear;
+            byYear.put(aggregate.getYear(), aggregate.getValue());
+        }
+
+        YearlyReport liveCost = new YearlyReport();
+        liveCost.setType("liveCost");
+        liveCost.setDescription("Rendimiento anual de la comida por kilogramo vivo");
+        liveCost.setReportedList(new ArrayList<>());
+
+        for (Integer year : weightByYear.keySet()) {
+            long weight = weightByYear.get(year);
+            long spending = spendingByYear.getOrDefault(year, 0L);
+            double costXKg = weight != 0 ? (double) spending / weight : -1;
+            liveCost.getReportedList().add(new LiveCost(year, weight, spending, costXKg));
+        }
+
+        liveCost.getReportedList().sort(null);
+
+        return liveCost;
+    }
+}
@@ -0,0 +1,73 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.Pregnancy;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.services.report.ReportAggregator;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.ReportDataSet;
+import com.cema.administration.services.report.ReportDataSnapshot;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class PregnancyReportCalculator implements ReportCalculator {
+
+    private static final String ULTRASOUNDS = "ultrasounds";
+
+    @Override
+    public ReportType getType() {
+        return ReportType.PREGNANCY;
+    }
+
+    @Override
+    public Set<ReportDataSet> getDataSets() {
+        return EnumSet.of(ReportDataSet.ULTRASOUNDS);
+    }
+
+    @Override
+    public Set<ReportDataSet> getStreamedDataSets() {
+        return getDataSets();
+    }
+
+    @Override
+    public List<ReportAggregate> aggregate(ReportDataSnapshot data, int fromYear) {
+        ReportAggregator aggregator = new ReportAggregator(fromYear);
+
+        data.forEachUltrasound(fromYear, ultrasound -> {
+            String result = ultrasound.getResult();
+            if (!StringUtils.hasText(result)) {
+                return;
+            }
+            boolean positive = "positivo".equalsIgnoreCase(result) || "positive".equalsIgnoreCase(result);
+            aggregator.add(ultrasound.getExecutionYear(), ULTRASOUNDS, positive ? 1 : 0);
+        });
+
+        return aggregator.getAggregates();
+    }
+
+    @Override
+    public YearlyReport buildReport(List<ReportAggregate> aggregates) {
+        YearlyReport pregnancy = new YearlyReport();
+        pregnancy.setType("pregnancy");
+        pregnancy.setDescription("Porcentaje de vacas preñadas por año");
+        pregnancy.setReportedList(new ArrayList<>());
+
+        for (ReportAggregate aggregate : aggregates) {
+            float totalCount = aggregate.getCount();
+            float positivesCount = aggregate.getValue();
+            Float percentage = (positivesCount / totalCount) * 100;
+            pregnancy.getReportedList().add(new Pregnancy(aggregate.getYear(), percentage));
+        }
+
+        pregnancy.getReportedList().sort(null);
+
+        return pregnancy;
+    }
+}
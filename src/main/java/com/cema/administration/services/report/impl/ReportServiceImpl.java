@@ -0,0 +1,244 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.entities.CemaReportRefresh;
+import com.cema.administration.services.authorization.AuthorizationService;
+import com.cema.administration.services.client.ClientFutures;
+import com.cema.administration.services.client.activity.ActivityClientService;
+import com.cema.administration.services.client.activity.AsyncActivityClientService;
+import com.cema.administration.services.client.bovine.AsyncBovineClientService;
+import com.cema.administration.services.client.bovine.BovineClientService;
+import com.cema.administration.services.client.economic.AsyncEconomicClientService;
+import com.cema.administration.services.client.economic.EconomicClientService;
+import com.cema.administration.services.client.health.AsyncHealthClientService;
+import com.cema.administration.services.client.health.HealthClientService;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.ReportDataSet;
+import com.cema.administration.services.report.ReportDataSnapshot;
+import com.cema.administration.services.report.ReportService;
+import com.cema.administration.services.report.ReportStoreService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Lombok;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Serves the yearly reports from the stored aggregates. A report is refreshed from the upstream services when it is
+ * read and its aggregates are older than the refresh interval, since those services only answer with the token of
+ * the requesting user. Incremental reports only recompute the years from the one open on their last refresh.
+ * <p>
+ * Built reports are cached unfiltered per establishment and type; concurrent requests for a report being built wait
+ * for that computation instead of starting their own. Reports requested together are refreshed from a single
+ * snapshot, so each upstream data set is fetched once for all of them. Data sets read by a single report in one pass
+ * are streamed into its aggregates rather than fetched as a whole.
+ */
+@Service
+@Slf4j
+public class ReportServiceImpl implements ReportService {
+
+    private final Map<ReportType, ReportCalculator> reportCalculators = new EnumMap<>(ReportType.class);
+    private final ReportStoreService reportStoreService;
+    private final AuthorizationService authorizationService;
+    private final ActivityClientService activityClientService;
+    private final HealthClientService healthClientService;
+    private final AsyncActivityClientService asyncActivityClientService;
+    private final AsyncBovineClientService asyncBovineClientService;
+    private final AsyncHealthClientService asyncHealthClientService;
+    private final AsyncEconomicClientService asyncEconomicClientService;
+    private final BovineClientService bovineClientService;
+    private final EconomicClientService economicClientService;
+    private final long refreshInterval;
+    private final AsyncCache<ReportKey, YearlyReport> reports;
+
+    public ReportServiceImpl(List<ReportCalculator> reportCalculators, ReportStoreService reportStoreService,
+                             AuthorizationService authorizationService,
+                             ActivityClientService activityClientService, HealthClientService healthClientService,
+                             AsyncActivityClientService asyncActivityClientService,
+                             AsyncBovineClientService asyncBovineClientService,
+                             AsyncHealthClientService asyncHealthClientService,
+                             AsyncEconomicClientService asyncEconomicClientService,
+                             BovineClientService bovineClientService, EconomicClientService economicClientService,
+                             @Value("${report.store.refresh-interval:300000}") long refreshInterval,
+                             @Value("${report.cache.ttl:60000}") long cacheTtl,
+                             @Value("${report.cache.max-size:1000}") long cacheMaxSize) {
+        reportCalculators.forEach(reportCalculator -> this.reportCalculators.put(reportCalculator.getType(), reportCalculator));
+        this.reportStoreService = reportStoreService;
+        this.authorizationService = authorizationService;
+        this.activityClientService = activityClientService;
+        this.healthClientService = healthClientService;
+        this.asyncActivityClientService = asyncActivityClientService;
+        this.asyncBovineClientService = asyncBovineClientService;
+        this.asyncHealthClientService = asyncHealthClientService;
+        this.asyncEconomicClientService = asyncEconomicClientService;
+        this.bovineClientService = bovineClientService;
+        this.economicClientService = economicClientService;
+        this.refreshInterval = refreshInterval;
+        this.reports = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(cacheTtl))
+                .maximumSize(cacheMaxSize)
+                .buildAsync();
+    }
+
+    @Override
+    public YearlyReport getReport(ReportType reportType, int yearFrom, int yearTo) {
+        String cuig = authorizationService.getCurrentUserCuig();
+
+        YearlyReport report = getCachedReport(new ReportKey(cuig, reportType), newSnapshot(),
+                () -> reportStoreService.getRefresh(cuig, reportType));
+
+        return filterByYear(report, yearFrom, yearTo);
+    }
+
+    @Override
+    public List<YearlyReport> getReports(Collection<ReportType> reportTypes, int yearFrom, int yearTo) {
+        String cuig = authorizationService.getCurrentUserCuig();
+        ReportDataSnapshot snapshot = newSnapshot();
+
+        // Loaded once per uncached report, building it reuses the same refresh
+        Map<ReportType, CemaReportRefresh> reportRefreshes = new EnumMap<>(ReportType.class);
+        Map<ReportType, Integer> staleFromYears = new EnumMap<>(ReportType.class);
+        Map<ReportDataSet, Integer> dataSetUses = new EnumMap<>(ReportDataSet.class);
+        for (ReportType reportType : reportTypes) {
+            if (reports.getIfPresent(new ReportKey(cuig, reportType)) != null) {
+                continue;
+            }
+            CemaReportRefresh reportRefresh = reportStoreService.getRefresh(cuig, reportType);
+            reportRefreshes.put(reportType, reportRefresh);
+            if (isStale(reportRefresh)) {
+                staleFromYears.put(reportType, getFromYear(reportType, reportRefresh));
+                reportCalculators.get(reportType).getDataSets()
+                        .forEach(dataSet -> dataSetUses.merge(dataSet, 1, Integer::sum));
+            }
+        }
+
+        // Shared data sets are fetched whole, the widest windows first so the narrower ones reuse them
+        Map<Integer, Set<ReportDataSet>> dataSetsByFromYear = new TreeMap<>();
+        staleFromYears.forEach((reportType, fromYear) -> {
+            ReportCalculator reportCalculator = reportCalculators.get(reportType);
+            for (ReportDataSet dataSet : reportCalculator.getDataSets()) {
+                if (dataSetUses.get(dataSet) > 1 || !reportCalculator.getStreamedDataSets().contains(dataSet)) {
+                    dataSetsByFromYear.computeIfAbsent(fromYear, year -> EnumSet.noneOf(ReportDataSet.class)).add(dataSet);
+                }
+            }
+        });
+        dataSetsByFromYear.forEach((fromYear, dataSets) -> snapshot.prefetch(dataSets, fromYear));
+
+        List<YearlyReport> yearlyReports = new ArrayList<>();
+        for (ReportType reportType : reportTypes) {
+            YearlyReport report = getCachedReport(new ReportKey(cuig, reportType), snapshot,
+                    () -> reportRefreshes.containsKey(reportType)
+                            ? reportRefreshes.get(reportType) : reportStoreService.getRefresh(cuig, reportType));
+            yearlyReports.add(filterByYear(report, yearFrom, yearTo));
+        }
+        return yearlyReports;
+    }
+
+    private YearlyReport filterByYear(YearlyReport report, int yearFrom, int yearTo) {
+        YearlyReport filteredReport = new YearlyReport(report.getType(), report.getDescription(),
+                new ArrayList<>(report.getReportedList()));
+        filteredReport.filterByYear(yearFrom, yearTo);
+        return filteredReport;
+    }
+
+    private YearlyReport getCachedReport(ReportKey reportKey, ReportDataSnapshot snapshot,
+                                         Supplier<CemaReportRefresh> reportRefresh) {
+        // Built on the calling thread, which holds the user token the upstream services need
+        CompletableFuture<YearlyReport> computation = new CompletableFuture<>();
+        CompletableFuture<YearlyReport> cached = reports.asMap().putIfAbsent(reportKey, computation);
+        if (cached != null) {
+            return ClientFutures.join(cached);
+        }
+        try {
+            computation.complete(buildReport(reportKey.cuig, reportKey.reportType, reportRefresh.get(), snapshot));
+        } catch (Throwable throwable) {
+            // The clients throw checked exceptions sneakily, waiters must never be left on an unfinished computation
+            computation.completeExceptionally(throwable);
+            reports.asMap().remove(reportKey, computation);
+            throw Lombok.sneakyThrow(throwable);
+        }
+        return computation.join();
+    }
+
+    private YearlyReport buildReport(String cuig, ReportType reportType, CemaReportRefresh reportRefresh,
+                                     ReportDataSnapshot snapshot) {
+        ReportCalculator reportCalculator = reportCalculators.get(reportType);
+
+        if (isStale(reportRefresh)) {
+            refresh(cuig, reportCalculator, reportRefresh, snapshot);
+        }
+
+        List<ReportAggregate> aggregates = reportStoreService.getAggregates(cuig, reportType, -1, -1);
+        return reportCalculator.buildReport(aggregates);
+    }
+
+    private boolean isStale(CemaReportRefresh reportRefresh) {
+        return reportRefresh == null || reportRefresh.getRefreshedAt() == null
+                || System.currentTimeMillis() - reportRefresh.getRefreshedAt().getTime() >= refreshInterval;
+    }
+
+    private void refresh(String cuig, ReportCalculator reportCalculator, CemaReportRefresh reportRefresh,
+                         ReportDataSnapshot snapshot) {
+        ReportType reportType = reportCalculator.getType();
+        int fromYear = getFromYear(reportType, reportRefresh);
+        int openYear = LocalDate.now().getYear();
+        log.debug("Refreshing {} report of establishment {} from year {}", reportType, cuig, fromYear);
+
+        Set<ReportDataSet> fetchedDataSets = EnumSet.copyOf(reportCalculator.getDataSets());
+        fetchedDataSets.removeAll(reportCalculator.getStreamedDataSets());
+        snapshot.prefetch(fetchedDataSets, fromYear);
+        List<ReportAggregate> aggregates = reportCalculator.aggregate(snapshot, fromYear);
+
+        reportStoreService.replaceAggregates(cuig, reportType, fromYear, openYear, aggregates);
+    }
+
+    private int getFromYear(ReportType reportType, CemaReportRefresh reportRefresh) {
+        return reportType.isIncremental() && reportRefresh != null && reportRefresh.getOpenYear() != null
+                ? reportRefresh.getOpenYear() : ReportCalculator.ALL_YEARS;
+    }
+
+    private ReportDataSnapshot newSnapshot() {
+        return new ReportDataSnapshot(activityClientService, healthClientService, asyncActivityClientService, asyncBovineClientService, asyncHealthClientService,
+                asyncEconomicClientService, bovineClientService, economicClientService);
+    }
+
+    private static final class ReportKey {
+        private final String cuig;
+        private final ReportType reportType;
+
+        private ReportKey(String cuig, ReportType reportType) {
+            this.cuig = cuig;
+            this.reportType = reportType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReportKey reportKey = (ReportKey) o;
+            return Objects.equals(cuig, reportKey.cuig) && reportType == reportKey.reportType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cuig, reportType);
+        }
+    }
+}
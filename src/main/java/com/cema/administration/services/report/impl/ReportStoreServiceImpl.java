@@ -0,0 +1,74 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.entities.CemaReportAggregate;
+import com.cema.administration.entities.CemaReportRefresh;
+import com.cema.administration.repositories.ReportAggregateRepository;
+import com.cema.administration.repositories.ReportRefreshRepository;
+import com.cema.administration.services.report.ReportStoreService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class ReportStoreServiceImpl implements ReportStoreService {
+
+    private final ReportAggregateRepository reportAggregateRepository;
+    private final ReportRefreshRepository reportRefreshRepository;
+
+    public ReportStoreServiceImpl(ReportAggregateRepository reportAggregateRepository,
+                                  ReportRefreshRepository reportRefreshRepository) {
+        this.reportAggregateRepository = reportAggregateRepository;
+        this.reportRefreshRepository = reportRefreshRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CemaReportRefresh getRefresh(String cuig, ReportType reportType) {
+        return reportRefreshRepository.findByEstablishmentCuigAndReportType(cuig, reportType);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReportAggregate> getAggregates(String cuig, ReportType reportType, int yearFrom, int yearTo) {
+        return reportAggregateRepository.findAggregates(cuig, reportType.name(), yearFrom, yearTo).stream()
+                .map(this::mapEntityToDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void replaceAggregates(String cuig, ReportType reportType, int fromYear, int openYear, List<ReportAggregate> aggregates) {
+        // Locking the refresh row serializes concurrent refreshes of the same report, also across instances
+        reportRefreshRepository.createIfAbsent(cuig, reportType.name());
+        CemaReportRefresh reportRefresh = reportRefreshRepository.findForUpdate(cuig, reportType);
+
+        reportAggregateRepository.deleteFromYear(cuig, reportType, fromYear);
+        reportAggregateRepository.saveAll(aggregates.stream()
+                .map(aggregate -> mapDomainToEntity(cuig, reportType, aggregate))
+                .collect(Collectors.toList()));
+
+        reportRefresh.setRefreshedAt(new Date());
+        reportRefresh.setOpenYear(openYear);
+    }
+
+    private ReportAggregate mapEntityToDomain(CemaReportAggregate cemaReportAggregate) {
+        return new ReportAggregate(cemaReportAggregate.getYear(), cemaReportAggregate.getDimension(),
+                cemaReportAggregate.getValue(), cemaReportAggregate.getCount());
+    }
+
+    private CemaReportAggregate mapDomainToEntity(String cuig, ReportType reportType, ReportAggregate aggregate) {
+        return CemaReportAggregate.builder()
+                .establishmentCuig(cuig)
+                .reportType(reportType)
+                .year(aggregate.getYear())
+                .dimension(aggregate.getDimension())
+                .value(aggregate.getValue())
+                .count(aggregate.getCount())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.Weight;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.services.report.ReportAggregator;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.ReportDataSet;
+import com.cema.administration.services.report.ReportDataSnapshot;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Service
+public class WeightReportCalculator implements ReportCalculator {
+
+    @Override
+    public ReportType getType() {
+        return ReportType.WEIGHT;
+    }
+
+    @Override
+    public Set<ReportDataSet> getDataSets() {
+        return EnumSet.of(ReportDataSet.WEIGHTINGS);
+    }
+
+    @Override
+    public Set<ReportDataSet> getStreamedDataSets() {
+        return getDataSets();
+    }
+
+    @Override
+    public List<ReportAggregate> aggregate(ReportDataSnapshot data, int fromYear) {
+        ReportAggregator aggregator = new ReportAggregator(fromYear);
+
+        data.forEachWeighing(fromYear, weighing -> {
+            if (!StringUtils.hasText(weighing.getCategory()) || weighing.getWeight() == null) {
+                return;
+            }
+            String category = weighing.getCategory().toLowerCase(Locale.ROOT);
+            aggregator.add(weighing.getExecutionYear(), category, weighing.getWeight());
+        });
+
+        return aggregator.getAggregates();
+    }
+
+    @Override
+    public YearlyReport buildReport(List<ReportAggregate> aggregates) {
+        YearlyReport weightReport = new YearlyReport();
+        weightReport.setType("weight");
+        weightReport.setDescription("Peso promedio anual por categoria");
+        weightReport.setReportedList(new ArrayList<>());
+
+        for (ReportAggregate aggregate : aggregates) {
+            long averageWeight = aggregate.getValue() / aggregate.getCount();
+            weightReport.getReportedList().add(new Weight(aggregate.getYear(), averageWeight, aggregate.getDimension()));
+        }
+
+        weightReport.getReportedList().sort(null);
+
+        return weightReport;
+    }
+}
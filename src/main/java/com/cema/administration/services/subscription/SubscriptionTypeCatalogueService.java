@@ -0,0 +1,12 @@
+package com.cema.administration.services.subscription;
+
+import com.cema.administration.entities.CemaSubscriptionType;
+
+import java.util.Optional;
+
+public interface SubscriptionTypeCatalogueService {
+
+    Optional<CemaSubscriptionType> getLatestSubscriptionType(String name);
+
+    void invalidate(String name);
+}
@@ -0,0 +1,46 @@
+package com.cema.administration.services.subscription.impl;
+
+import com.cema.administration.entities.CemaSubscriptionType;
+import com.cema.administration.repositories.SubscriptionTypeRepository;
+import com.cema.administration.services.subscription.SubscriptionTypeCatalogueService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Read-through cache of the latest version of each subscription type. Cached entities are detached and shared, so
+ * they must only be read; writes go through the repository and invalidate the name.
+ */
+@Service
+public class SubscriptionTypeCatalogueServiceImpl implements SubscriptionTypeCatalogueService {
+
+    private final LoadingCache<String, Optional<CemaSubscriptionType>> latestSubscriptionTypes;
+
+    public SubscriptionTypeCatalogueServiceImpl(SubscriptionTypeRepository subscriptionTypeRepository,
+                                                @Value("${subscription.catalogue-cache.ttl:60000}") long ttl,
+                                                @Value("${subscription.catalogue-cache.max-size:1000}") long maxSize) {
+        this.latestSubscriptionTypes = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .maximumSize(maxSize)
+                .build(name -> Optional.ofNullable(subscriptionTypeRepository.findLatestByName(name)));
+    }
+
+    @Override
+    public Optional<CemaSubscriptionType> getLatestSubscriptionType(String name) {
+        return latestSubscriptionTypes.get(toKey(name));
+    }
+
+    @Override
+    public void invalidate(String name) {
+        latestSubscriptionTypes.invalidate(toKey(name));
+    }
+
+    private String toKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
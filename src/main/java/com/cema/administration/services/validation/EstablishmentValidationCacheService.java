@@ -0,0 +1,8 @@
+package com.cema.administration.services.validation;
+
+public interface EstablishmentValidationCacheService {
+
+    void validateEstablishment(String cuig);
+
+    void invalidate(String cuig);
+}
@@ -2,6 +2,10 @@ package com.cema.administration.services.validation;
 
 import com.cema.administration.domain.Establishment;
 
+import java.util.Date;
+
 public interface EstablishmentValidationService {
     void validateEstablishmentForUsage(Establishment establishment);
+
+    void validateActiveUntil(Date activeUntil);
 }
@@ -0,0 +1,127 @@
+package com.cema.administration.services.validation.impl;
+
+import com.cema.administration.domain.Establishment;
+import com.cema.administration.entities.CemaEstablishment;
+import com.cema.administration.exceptions.NotFoundException;
+import com.cema.administration.exceptions.ValidationException;
+import com.cema.administration.mapping.UpdateMappingService;
+import com.cema.administration.repositories.EstablishmentRepository;
+import com.cema.administration.services.validation.EstablishmentValidationCacheService;
+import com.cema.administration.services.validation.EstablishmentValidationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Keeps the outcome of validating each establishment. A valid outcome lives until the active subscription ends (or
+ * the configured ttl, if sooner), an invalid one for the ttl; changes to the establishment must invalidate it.
+ */
+@Service
+@Slf4j
+public class EstablishmentValidationCacheServiceImpl implements EstablishmentValidationCacheService {
+
+    private final EstablishmentRepository establishmentRepository;
+    private final UpdateMappingService<CemaEstablishment, Establishment> establishmentMappingService;
+    private final EstablishmentValidationService establishmentValidationService;
+    private final Duration ttl;
+    private final Cache<String, ValidationOutcome> outcomes;
+
+    @Autowired
+    public EstablishmentValidationCacheServiceImpl(EstablishmentRepository establishmentRepository,
+                                                   UpdateMappingService<CemaEstablishment, Establishment> establishmentMappingService,
+                                                   EstablishmentValidationService establishmentValidationService,
+                                                   @Value("${establishment.validation-cache.ttl:300000}") long ttl,
+                                                   @Value("${establishment.validation-cache.max-size:10000}") long maxSize) {
+        this(establishmentRepository, establishmentMappingService, establishmentValidationService, ttl, maxSize,
+                Ticker.systemTicker());
+    }
+
+    EstablishmentValidationCacheServiceImpl(EstablishmentRepository establishmentRepository,
+                                            UpdateMappingService<CemaEstablishment, Establishment> establishmentMappingService,
+                                            EstablishmentValidationService establishmentValidationService,
+                                            long ttl, long maxSize, Ticker ticker) {
+        this.establishmentRepository = establishmentRepository;
+        this.establishmentMappingService = establishmentMappingService;
+        this.establishmentValidationService = establishmentValidationService;
+        this.ttl = Duration.ofMillis(ttl);
+        this.outcomes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .expireAfter(new Expiry<String, ValidationOutcome>() {
+                    @Override
+                    public long expireAfterCreate(String cuig, ValidationOutcome outcome, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), outcome.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String cuig, ValidationOutcome outcome, long currentTime, long currentDuration) {
+                        return expireAfterCreate(cuig, outcome, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String cuig, ValidationOutcome outcome, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public void validateEstablishment(String cuig) {
+        ValidationOutcome outcome = outcomes.get(cuig, this::loadOutcome);
+        if (outcome == null) {
+            throw new NotFoundException(String.format("Establishment with cuig %s doesn't exits", cuig));
+        }
+        if (outcome.getErrorMessage() != null) {
+            throw new ValidationException(outcome.getErrorMessage());
+        }
+    }
+
+    @Override
+    public void invalidate(String cuig) {
+        outcomes.invalidate(cuig);
+    }
+
+    private ValidationOutcome loadOutcome(String cuig) {
+        CemaEstablishment cemaEstablishment = establishmentRepository.findCemaEstablishmentByCuig(cuig);
+        if (cemaEstablishment == null) {
+            return null;
+        }
+        Instant maxExpiration = Instant.now().plus(ttl);
+        Date activeUntil = cemaEstablishment.getActiveUntil();
+        try {
+            // activeUntil only holds while it points at a subscription, deleting that one clears the pointer
+            if (activeUntil != null && cemaEstablishment.getActiveSubscription() != null) {
+                establishmentValidationService.validateActiveUntil(activeUntil);
+            } else {
+                // Establishments not yet backfilled, or whose active subscription was deleted
+                Establishment establishment = establishmentMappingService.mapEntityToDomain(cemaEstablishment);
+                establishmentValidationService.validateEstablishmentForUsage(establishment);
+                activeUntil = establishment.getActiveSubscription().getEndingDate();
+            }
+        } catch (ValidationException validationException) {
+            log.debug("Establishment {} is not valid: {}", cuig, validationException.getMessage());
+            return new ValidationOutcome(validationException.getMessage(), maxExpiration);
+        }
+        Instant endingTime = activeUntil.toInstant();
+        return new ValidationOutcome(null, endingTime.isBefore(maxExpiration) ? endingTime : maxExpiration);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ValidationOutcome {
+        private final String errorMessage;
+        private final Instant expiresAt;
+    }
+}
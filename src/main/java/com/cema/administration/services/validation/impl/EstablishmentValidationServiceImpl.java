@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Date;
 
 @Service
 public class EstablishmentValidationServiceImpl implements EstablishmentValidationService {
@@ -26,6 +27,21 @@ public class EstablishmentValidationServiceImpl implements EstablishmentValidati
                 .atZone(ZoneId.systemDefault())
                 .toLocalDateTime();
         LocalDateTime endingTime = startingTime.plusDays(duration);
+
+        validateEndingTime(endingTime);
+    }
+
+    @Override
+    public void validateActiveUntil(Date activeUntil) {
+        if (activeUntil == null) {
+            throw new ValidationException("The establishment doesn't have a subscription associated.");
+        }
+        validateEndingTime(activeUntil.toInstant()
+                .atZone(ZoneId.systemDefault())
+                .toLocalDateTime());
+    }
+
+    private void validateEndingTime(LocalDateTime endingTime) {
         LocalDateTime now = LocalDateTime.now();
 
         if (now.isAfter(endingTime)) {
@@ -0,0 +1,48 @@
+package com.cema.administration.utils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Finds the year of a timestamp in a zone by a binary search over the precomputed starts of the years, instead of
+ * building a zoned date time for every record. Timestamps outside the precomputed years fall back to the time API.
+ */
+public final class YearBuckets {
+
+    private static final int FIRST_YEAR = 1900;
+    private static final int LAST_YEAR = 2200;
+    private static final YearBuckets SYSTEM_DEFAULT = new YearBuckets(ZoneId.systemDefault());
+
+    private final ZoneId zone;
+    // The start of every year from FIRST_YEAR to the one after LAST_YEAR, in epoch milliseconds
+    private final long[] yearStarts = new long[LAST_YEAR - FIRST_YEAR + 2];
+
+    public YearBuckets(ZoneId zone) {
+        this.zone = zone;
+        for (int index = 0; index < yearStarts.length; index++) {
+            yearStarts[index] = LocalDate.of(FIRST_YEAR + index, 1, 1).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+    }
+
+    /**
+     * The buckets of the zone of the JVM when the application started, the one the reports were always computed in.
+     */
+    public static YearBuckets systemDefault() {
+        return SYSTEM_DEFAULT;
+    }
+
+    public static int yearOf(Date date) {
+        return SYSTEM_DEFAULT.getYear(date.getTime());
+    }
+
+    public int getYear(long epochMilli) {
+        if (epochMilli < yearStarts[0] || epochMilli >= yearStarts[yearStarts.length - 1]) {
+            return Instant.ofEpochMilli(epochMilli).atZone(zone).getYear();
+        }
+        int index = Arrays.binarySearch(yearStarts, epochMilli);
+        return FIRST_YEAR + (index >= 0 ? index : -index - 2);
+    }
+}
@@ -0,0 +1,4 @@
+-- CemaAudit ids are now allocated by Hibernate's pooled optimizer in blocks of 100,
+-- which lets audit inserts be sent as JDBC batches.
+ALTER SEQUENCE cema_audit_id_seq INCREMENT BY 100;
+SELECT setval('cema_audit_id_seq', (SELECT COALESCE(MAX(id), 0) + 100 FROM cema_audit));
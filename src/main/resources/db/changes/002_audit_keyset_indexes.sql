@@ -0,0 +1,5 @@
+-- Keyset pagination over audits seeks on (audit_date, id), per establishment and for admins.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS cema_audit_cuig_date_id_idx
+    ON cema_audit (establishment_cuig, audit_date DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS cema_audit_date_id_idx
+    ON cema_audit (audit_date DESC, id DESC);
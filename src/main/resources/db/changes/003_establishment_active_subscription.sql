@@ -0,0 +1,34 @@
+-- Denormalized active subscription so validation and lookups read a single establishment row.
+ALTER TABLE establishment
+    ADD COLUMN IF NOT EXISTS active_subscription_id BIGINT REFERENCES subscription (id) ON DELETE SET NULL,
+    ADD COLUMN IF NOT EXISTS active_until TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS establishment_cuig_idx ON establishment (cuig);
+
+-- Backfill with the latest started subscription of each establishment.
+UPDATE establishment e
+SET active_subscription_id = latest.id,
+    active_until           = latest.starting_date + latest.duration * INTERVAL '1 day'
+FROM (SELECT DISTINCT ON (s.establishment_id) s.establishment_id, s.id, s.starting_date, t.duration
+      FROM subscription s
+               JOIN subscription_type t ON t.id = s.subscription_type_id
+      ORDER BY s.establishment_id, s.starting_date DESC, s.id DESC) latest
+WHERE latest.establishment_id = e.id;
+
+-- Deleting the active subscription nulls the pointer through the foreign key, its ending date goes with it.
+CREATE OR REPLACE FUNCTION establishment_clear_active_until() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF NEW.active_subscription_id IS NULL THEN
+        NEW.active_until := NULL;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS establishment_clear_active_until ON establishment;
+CREATE TRIGGER establishment_clear_active_until
+    BEFORE UPDATE OF active_subscription_id
+    ON establishment
+    FOR EACH ROW
+EXECUTE PROCEDURE establishment_clear_active_until();
@@ -0,0 +1,3 @@
+-- Latest version lookup of a subscription type by case insensitive name.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS subscription_type_lower_name_creation_idx
+    ON subscription_type (lower(name), creation_date DESC);
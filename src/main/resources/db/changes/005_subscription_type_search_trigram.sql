@@ -0,0 +1,6 @@
+-- Contains searches over subscription type name and description (ILIKE '%x%') use trigram indexes.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS subscription_type_name_trgm_idx
+    ON subscription_type USING gin (name gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS subscription_type_description_trgm_idx
+    ON subscription_type USING gin (description gin_trgm_ops);
@@ -0,0 +1,29 @@
+-- Stored yearly report aggregates, one row per establishment, report, year and dimension.
+CREATE TABLE IF NOT EXISTS report_aggregate
+(
+    id                 BIGSERIAL PRIMARY KEY,
+    establishment_cuig VARCHAR(255) NOT NULL,
+    report_type        VARCHAR(32)  NOT NULL,
+    year               INTEGER      NOT NULL,
+    dimension          VARCHAR(255),
+    value              BIGINT       NOT NULL,
+    count              BIGINT       NOT NULL
+);
+CREATE INDEX IF NOT EXISTS report_aggregate_cuig_type_year_idx
+    ON report_aggregate (establishment_cuig, report_type, year);
+
+-- Ids are allocated by Hibernate's pooled optimizer in blocks of 100, so replacing the aggregates
+-- of a report is sent as JDBC batches instead of one insert per row.
+ALTER SEQUENCE report_aggregate_id_seq INCREMENT BY 100;
+SELECT setval('report_aggregate_id_seq', (SELECT COALESCE(MAX(id), 0) + 100 FROM report_aggregate));
+
+-- When each report was last refreshed and the first year still open at that time.
+CREATE TABLE IF NOT EXISTS report_refresh
+(
+    id                 BIGSERIAL PRIMARY KEY,
+    establishment_cuig VARCHAR(255) NOT NULL,
+    report_type        VARCHAR(32)  NOT NULL,
+    refreshed_at       TIMESTAMP,
+    open_year          INTEGER,
+    CONSTRAINT report_refresh_cuig_type_key UNIQUE (establishment_cuig, report_type)
+);
@@ -0,0 +1,7 @@
+-- Keyset pages sort audits without date last (audit_date DESC NULLS LAST), the indexes follow that order.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS cema_audit_cuig_date_nulls_last_id_idx
+    ON cema_audit (establishment_cuig, audit_date DESC NULLS LAST, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS cema_audit_date_nulls_last_id_idx
+    ON cema_audit (audit_date DESC NULLS LAST, id DESC);
+DROP INDEX CONCURRENTLY IF EXISTS cema_audit_cuig_date_id_idx;
+DROP INDEX CONCURRENTLY IF EXISTS cema_audit_date_id_idx;
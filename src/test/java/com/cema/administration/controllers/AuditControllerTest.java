@@ -0,0 +1,135 @@
+package com.cema.administration.controllers;
+
+import com.cema.administration.domain.audit.Audit;
+import com.cema.administration.entities.CemaAudit;
+import com.cema.administration.exceptions.UnauthorizedException;
+import com.cema.administration.exceptions.ValidationException;
+import com.cema.administration.mapping.impl.AuditMappingService;
+import com.cema.administration.repositories.AuditRepository;
+import com.cema.administration.services.authorization.AuthorizationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+public class AuditControllerTest {
+
+    private static final int MAX_BATCH_SIZE = 3;
+
+    @Mock
+    private AuditRepository auditRepository;
+    @Mock
+    private AuthorizationService authorizationService;
+
+    private AuditController auditController;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        when(authorizationService.isOnTheSameEstablishment("321")).thenReturn(true);
+        when(authorizationService.isOnTheSameEstablishment("123")).thenReturn(true);
+        auditController = new AuditController(auditRepository, new AuditMappingService(), authorizationService,
+                MAX_BATCH_SIZE);
+    }
+
+    @Test
+    public void registerAuditsShouldRejectBatchesOverTheMaxSize() {
+        List<Audit> audits = new ArrayList<>();
+        for (int index = 0; index <= MAX_BATCH_SIZE; index++) {
+            audits.add(audit("321", "PATRON"));
+        }
+
+        assertThrows(ValidationException.class, () -> auditController.registerAudits(audits));
+
+        verify(auditRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void registerAuditsShouldAuthorizeEachDistinctCuigOnce() {
+        List<Audit> audits = Arrays.asList(audit("321", "PATRON"), audit("123", "PATRON"), audit("321", "PEON"));
+
+        ResponseEntity<Void> result = auditController.registerAudits(audits);
+
+        assertThat(result.getStatusCode(), is(HttpStatus.NO_CONTENT));
+        verify(authorizationService, times(1)).isOnTheSameEstablishment("321");
+        verify(authorizationService, times(1)).isOnTheSameEstablishment("123");
+        verify(auditRepository).saveAll(anyList());
+    }
+
+    @Test
+    public void registerAuditsShouldRejectTheBatchWhenACuigIsNotAllowed() {
+        List<Audit> audits = Arrays.asList(audit("321", "PATRON"), audit("999", "PATRON"));
+
+        assertThrows(UnauthorizedException.class, () -> auditController.registerAudits(audits));
+
+        verify(auditRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void registerAuditsShouldRejectAuditsWithoutCuig() {
+        List<Audit> audits = Arrays.asList(audit("321", "PATRON"), audit(null, "PATRON"));
+
+        assertThrows(ValidationException.class, () -> auditController.registerAudits(audits));
+
+        verify(authorizationService, never()).isOnTheSameEstablishment(anyString());
+        verify(auditRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void registerAuditsShouldSaveAuditsWithoutRole() {
+        ArgumentCaptor<List<CemaAudit>> saved = ArgumentCaptor.forClass(List.class);
+
+        auditController.registerAudits(Collections.singletonList(audit("321", null)));
+
+        verify(auditRepository).saveAll(saved.capture());
+        assertThat(saved.getValue().size(), is(1));
+        assertThat(saved.getValue().get(0).getRole(), is(nullValue()));
+    }
+
+    @Test
+    public void scrollAuditsShouldRejectSizesBelowOne() {
+        assertThrows(ValidationException.class, () -> auditController.scrollAudits(null, 0, false));
+    }
+
+    @Test
+    public void scrollAuditsShouldContinueAmongTheAuditsWithoutDate() {
+        when(authorizationService.getCurrentUserCuig()).thenReturn("321");
+        CemaAudit undated = CemaAudit.builder().id(7L).establishmentCuig("321").role("PATRON").build();
+        when(auditRepository.findFirstKeysetPageByEstablishmentCuig("321", 1)).thenReturn(Collections.singletonList(undated));
+
+        ResponseEntity<List<Audit>> firstPage = auditController.scrollAudits(null, 1, false);
+        String cursor = firstPage.getHeaders().getFirst("next-cursor");
+        auditController.scrollAudits(cursor, 1, false);
+
+        verify(auditRepository).findUndatedKeysetPageByEstablishmentCuigAfter("321", 7L, 1);
+    }
+
+    private Audit audit(String cuig, String role) {
+        return Audit.builder()
+                .establishmentCuig(cuig)
+                .role(role)
+                .uri("/v1/bovines/1")
+                .httpMethod("GET")
+                .build();
+    }
+}
@@ -3,25 +3,50 @@ package com.cema.administration.controllers;
 
 import com.cema.administration.domain.Establishment;
 import com.cema.administration.entities.CemaEstablishment;
+import com.cema.administration.entities.CemaSubscription;
+import com.cema.administration.entities.CemaSubscriptionType;
 import com.cema.administration.exceptions.AlreadyExistsException;
 import com.cema.administration.exceptions.NotFoundException;
+import com.cema.administration.exceptions.ValidationException;
 import com.cema.administration.mapping.UpdateMappingService;
+import com.cema.administration.mapping.impl.EstablishmentMappingService;
 import com.cema.administration.mapping.impl.SubscriptionMappingService;
 import com.cema.administration.mapping.impl.SubscriptionTypeMappingService;
 import com.cema.administration.repositories.EstablishmentRepository;
 import com.cema.administration.repositories.SubscriptionRepository;
-import com.cema.administration.repositories.SubscriptionTypeRepository;
 import com.cema.administration.services.authorization.AuthorizationService;
+import com.cema.administration.services.subscription.SubscriptionTypeCatalogueService;
+import com.cema.administration.services.validation.EstablishmentValidationCacheService;
 import com.cema.administration.services.validation.EstablishmentValidationService;
+import com.cema.administration.services.validation.impl.EstablishmentValidationCacheServiceImpl;
+import com.cema.administration.services.validation.impl.EstablishmentValidationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -39,9 +64,11 @@ public class EstablishmentControllerTest {
     @Mock
     private SubscriptionMappingService subscriptionMappingService;
     @Mock
-    private SubscriptionTypeRepository subscriptionTypeRepository;
+    private SubscriptionTypeCatalogueService subscriptionTypeCatalogueService;
     @Mock
     private SubscriptionRepository subscriptionRepository;
+    @Mock
+    private EstablishmentValidationCacheService establishmentValidationCacheService;
 
 
     private EstablishmentController establishmentController;
@@ -52,7 +79,8 @@ public class EstablishmentControllerTest {
         when(authorizationService.isOnTheSameEstablishment(cuig)).thenReturn(true);
         when(authorizationService.getCurrentUserCuig()).thenReturn(cuig);
         establishmentController = new EstablishmentController(establishmentRepository, mappingService,
-                authorizationService, establishmentValidationService, subscriptionMappingService, subscriptionTypeRepository, subscriptionRepository);
+                authorizationService, establishmentValidationService, subscriptionMappingService, subscriptionTypeCatalogueService, subscriptionRepository,
+                establishmentValidationCacheService);
     }
 
     @Test
@@ -88,6 +116,25 @@ public class EstablishmentControllerTest {
         assertThat(resultingMessage, is("Establishment with cuig 321 doesn't exits"));
     }
 
+    @Test
+    public void validateEstablishmentByCuigShouldReturnNoContentWhenEstablishmentIsValid() {
+        ResponseEntity<Void> result = establishmentController.validateEstablishmentByCuig(cuig);
+
+        verify(establishmentValidationCacheService).validateEstablishment(cuig);
+        assertThat(result.getStatusCode(), is(HttpStatus.NO_CONTENT));
+    }
+
+    @Test
+    public void validateEstablishmentByCuigShouldPropagateValidationErrors() {
+        doThrow(new ValidationException("The establishment doesn't have a subscription associated."))
+                .when(establishmentValidationCacheService).validateEstablishment(cuig);
+
+        Exception exception = assertThrows(ValidationException.class, () ->
+                establishmentController.validateEstablishmentByCuig(cuig));
+
+        assertThat(exception.getMessage(), is("The establishment doesn't have a subscription associated."));
+    }
+
     @Test
     public void registerEstablishmentShouldAlwaysReturnCreatedWhenEstablishmentAddedCorrectly() {
         CemaEstablishment cemaEstablishment = new CemaEstablishment();
@@ -184,5 +231,80 @@ public class EstablishmentControllerTest {
         assertThat(resultingMessage, is("Establishment 234 doesn't exits"));
     }
 
+    @Test
+    public void listEstablishmentsShouldReturnEveryEstablishmentWhenNoSizeIsGiven() {
+        CemaEstablishment cemaEstablishment = new CemaEstablishment();
+        Establishment establishment = Establishment.builder().build();
+        when(establishmentRepository.findAllWithActiveSubscription(Sort.by("name")))
+                .thenReturn(Arrays.asList(cemaEstablishment, cemaEstablishment));
+        when(mappingService.mapEntityToDomain(cemaEstablishment)).thenReturn(establishment);
+
+        ResponseEntity<List<Establishment>> result = establishmentController.listEstablishments(0, null);
 
-}
\ No newline at end of file
+        assertThat(result.getBody().size(), is(2));
+        assertThat(result.getHeaders().getFirst("total-pages"), is("1"));
+        verify(establishmentRepository, never()).findAllWithActiveSubscription(any(Pageable.class));
+    }
+
+    @Test
+    public void listEstablishmentsShouldReturnTheRequestedPageWhenASizeIsGiven() {
+        CemaEstablishment cemaEstablishment = new CemaEstablishment();
+        Establishment establishment = Establishment.builder().build();
+        PageRequest paging = PageRequest.of(1, 1, Sort.by("name"));
+        when(establishmentRepository.findAllWithActiveSubscription(paging))
+                .thenReturn(new PageImpl<>(Collections.singletonList(cemaEstablishment), paging, 3));
+        when(mappingService.mapEntityToDomain(cemaEstablishment)).thenReturn(establishment);
+
+        ResponseEntity<List<Establishment>> result = establishmentController.listEstablishments(1, 1);
+
+        assertThat(result.getBody().size(), is(1));
+        assertThat(result.getHeaders().getFirst("total-elements"), is("3"));
+        assertThat(result.getHeaders().getFirst("current-page"), is("1"));
+    }
+
+    @Test
+    public void addSubscriptionShouldActivateTheLatestStartedSubscriptionWhenNoneIsActive() {
+        CemaSubscriptionType cemaSubscriptionType = CemaSubscriptionType.builder().name("Promo1").duration(30L).build();
+        CemaSubscription latestSubscription = CemaSubscription.builder()
+                .startingDate(date(2030))
+                .cemaSubscriptionType(cemaSubscriptionType)
+                .build();
+        CemaEstablishment cemaEstablishment = new CemaEstablishment();
+        cemaEstablishment.setSubscriptions(new ArrayList<>(Collections.singletonList(latestSubscription)));
+        Date latestEndingDate = date(2031);
+        when(establishmentRepository.findCemaEstablishmentByCuig(cuig)).thenReturn(cemaEstablishment);
+        when(subscriptionTypeCatalogueService.getLatestSubscriptionType("Promo1")).thenReturn(Optional.of(cemaSubscriptionType));
+        when(subscriptionMappingService.getEndingDate(latestSubscription)).thenReturn(latestEndingDate);
+
+        establishmentController.addSubscription(cuig, "Promo1", date(2025));
+
+        assertThat(cemaEstablishment.getActiveSubscription(), is(sameInstance(latestSubscription)));
+        assertThat(cemaEstablishment.getActiveUntil(), is(latestEndingDate));
+        verify(establishmentRepository).save(cemaEstablishment);
+    }
+
+    @Test
+    public void validateEstablishmentByCuigShouldRejectAnEstablishmentWhoseActiveSubscriptionWasDeleted() {
+        // What is left of an establishment after its only subscription was deleted without clearing active_until
+        CemaEstablishment cemaEstablishment = new CemaEstablishment();
+        cemaEstablishment.setSubscriptions(new ArrayList<>());
+        cemaEstablishment.setActiveUntil(date(2100));
+        when(establishmentRepository.findCemaEstablishmentByCuig(cuig)).thenReturn(cemaEstablishment);
+        EstablishmentValidationCacheService validationCacheService = new EstablishmentValidationCacheServiceImpl(
+                establishmentRepository,
+                new EstablishmentMappingService(new SubscriptionMappingService(new SubscriptionTypeMappingService())),
+                new EstablishmentValidationServiceImpl(), 60000, 100);
+        establishmentController = new EstablishmentController(establishmentRepository, mappingService,
+                authorizationService, establishmentValidationService, subscriptionMappingService, subscriptionTypeCatalogueService, subscriptionRepository,
+                validationCacheService);
+
+        Exception exception = assertThrows(ValidationException.class, () ->
+                establishmentController.validateEstablishmentByCuig(cuig));
+
+        assertThat(exception.getMessage(), is("The establishment doesn't have a subscription associated."));
+    }
+
+    private Date date(int year) {
+        return Date.from(LocalDate.of(year, 1, 1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
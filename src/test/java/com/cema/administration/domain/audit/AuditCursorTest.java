@@ -0,0 +1,37 @@
+package com.cema.administration.domain.audit;
+
+import com.cema.administration.exceptions.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AuditCursorTest {
+
+    @Test
+    public void decodeShouldReturnTheEncodedPosition() {
+        Date auditDate = new Date(1634567890123L);
+
+        AuditCursor decoded = AuditCursor.decode(new AuditCursor(auditDate, 42L).encode());
+
+        assertThat(decoded.getAuditDate(), is(auditDate));
+        assertThat(decoded.getId(), is(42L));
+    }
+
+    @Test
+    public void decodeShouldReturnThePositionOfAnAuditWithoutDate() {
+        AuditCursor decoded = AuditCursor.decode(new AuditCursor(null, 42L).encode());
+
+        assertThat(decoded.getAuditDate(), is(nullValue()));
+        assertThat(decoded.getId(), is(42L));
+    }
+
+    @Test
+    public void decodeShouldRejectInvalidTokens() {
+        assertThrows(ValidationException.class, () -> AuditCursor.decode("not a cursor"));
+    }
+}
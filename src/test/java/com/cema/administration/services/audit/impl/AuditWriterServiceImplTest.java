@@ -0,0 +1,66 @@
+package com.cema.administration.services.audit.impl;
+
+import com.cema.administration.constants.AuditOverflowPolicy;
+import com.cema.administration.entities.CemaAudit;
+import com.cema.administration.repositories.AuditRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+public class AuditWriterServiceImplTest {
+
+    @Mock
+    private AuditRepository auditRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditWriterServiceImpl auditWriterService;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        auditWriterService = new AuditWriterServiceImpl(auditRepository, meterRegistry, 10, 200, 1000, 10000, 100,
+                AuditOverflowPolicy.BLOCK);
+    }
+
+    @Test
+    public void writeShouldSaveOnTheCallingThreadOnceStopped() throws InterruptedException {
+        auditWriterService.start();
+        auditWriterService.stop();
+        CemaAudit cemaAudit = CemaAudit.builder().uri("/v1/bovines/1").build();
+
+        auditWriterService.write(cemaAudit);
+
+        verify(auditRepository).save(cemaAudit);
+        verify(auditRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void writeShouldSaveEachAuditOfAFailedBatchAndCountTheFailedOnes() throws InterruptedException {
+        CemaAudit first = CemaAudit.builder().uri("/v1/bovines/1").build();
+        CemaAudit bad = CemaAudit.builder().uri("/v1/bovines/bad").build();
+        CemaAudit last = CemaAudit.builder().uri("/v1/bovines/3").build();
+        when(auditRepository.saveAll(anyList())).thenThrow(new IllegalStateException("Batch failed"));
+        when(auditRepository.save(bad)).thenThrow(new IllegalStateException("Bad audit"));
+
+        auditWriterService.start();
+        auditWriterService.write(first);
+        auditWriterService.write(bad);
+        auditWriterService.write(last);
+        auditWriterService.stop();
+
+        verify(auditRepository).save(first);
+        verify(auditRepository).save(bad);
+        verify(auditRepository).save(last);
+        assertThat(meterRegistry.counter("audit.writer.failed").count(), is(1.0));
+    }
+}
@@ -0,0 +1,112 @@
+package com.cema.administration.services.authentication.impl;
+
+import com.cema.administration.domain.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Date;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+public class UserAuthenticationServiceImplTest {
+
+    private static final String URL = "http://users/v1/users";
+    // Base64 encoded, as jjwt reads string keys
+    private static final String SECRET = "c2VjcmV0LXRoYXQtaXMtbG9uZy1lbm91Z2gtZm9yLWhzMjU2";
+    private static final String OTHER_SECRET = "YW5vdGhlci1zZWNyZXQtdGhhdC1pcy1sb25nLWVub3VnaA==";
+    private static final long HOUR = 3600000L;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private final User user = User.builder().userName("merlin").role("PATRON").establishmentCuig("321").build();
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        when(restTemplate.postForObject(eq(URL), any(HttpEntity.class), eq(User.class))).thenReturn(user);
+    }
+
+    @Test
+    public void authenticateShouldMapTheClaimsOfAValidTokenLocally() {
+        UserAuthenticationServiceImpl service = newService(true);
+
+        User authenticated = service.authenticate(bearer(SECRET, new Date(System.currentTimeMillis() + HOUR)));
+
+        assertThat(authenticated.getUserName(), is("merlin"));
+        assertThat(authenticated.getRole(), is("PATRON"));
+        assertThat(authenticated.getEstablishmentCuig(), is("321"));
+        verify(restTemplate, never()).postForObject(eq(URL), any(HttpEntity.class), eq(User.class));
+    }
+
+    @Test
+    public void authenticateShouldRejectAnExpiredTokenLocally() {
+        UserAuthenticationServiceImpl service = newService(true);
+
+        User authenticated = service.authenticate(bearer(SECRET, new Date(System.currentTimeMillis() - HOUR)));
+
+        assertThat(authenticated, is(nullValue()));
+        verify(restTemplate, never()).postForObject(eq(URL), any(HttpEntity.class), eq(User.class));
+    }
+
+    @Test
+    public void authenticateShouldRejectATokenWithABadSignatureLocally() {
+        UserAuthenticationServiceImpl service = newService(true);
+
+        User authenticated = service.authenticate(bearer(OTHER_SECRET, new Date(System.currentTimeMillis() + HOUR)));
+
+        assertThat(authenticated, is(nullValue()));
+        verify(restTemplate, never()).postForObject(eq(URL), any(HttpEntity.class), eq(User.class));
+    }
+
+    @Test
+    public void authenticateShouldAskTheUsersServiceOnceForARepeatedToken() {
+        UserAuthenticationServiceImpl service = newService(false);
+        String token = bearer(SECRET, new Date(System.currentTimeMillis() + HOUR));
+
+        assertThat(service.authenticate(token), is(user));
+        assertThat(service.authenticate(token), is(user));
+
+        verify(restTemplate, times(1)).postForObject(eq(URL), any(HttpEntity.class), eq(User.class));
+    }
+
+    @Test
+    public void authenticateShouldNotCacheAUserPastTheExpirationOfItsToken() {
+        UserAuthenticationServiceImpl service = newService(false);
+        String token = bearer(SECRET, new Date(System.currentTimeMillis() - HOUR));
+
+        service.authenticate(token);
+        service.authenticate(token);
+
+        verify(restTemplate, times(2)).postForObject(eq(URL), any(HttpEntity.class), eq(User.class));
+    }
+
+    private UserAuthenticationServiceImpl newService(boolean localVerification) {
+        return new UserAuthenticationServiceImpl(restTemplate, URL, localVerification, SECRET, "role", "cuig",
+                60000, 100);
+    }
+
+    private String bearer(String secret, Date expiration) {
+        return "Bearer " + Jwts.builder()
+                .setSubject("merlin")
+                .claim("role", "PATRON")
+                .claim("cuig", "321")
+                .setExpiration(expiration)
+                .signWith(SignatureAlgorithm.HS256, secret)
+                .compact();
+    }
+}
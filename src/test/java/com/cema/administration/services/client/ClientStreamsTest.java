@@ -0,0 +1,82 @@
+package com.cema.administration.services.client;
+
+import com.cema.administration.domain.health.Illness;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ClientStreamsTest {
+
+    private final ObjectMapper streamMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<Illness> illnesses = new ArrayList<>();
+
+    @Test
+    public void forEachElementShouldHandEveryElementOfTheArray() throws IOException {
+        MockClientHttpResponse response = response("[{\"bovineTag\":\"1\",\"diseaseName\":\"Aftosa\"},"
+                + "null,{\"bovineTag\":\"2\",\"diseaseName\":\"Brucelosis\"}]");
+        response.getHeaders().add(PagedFetcher.TOTAL_PAGES_HEADER, "3");
+
+        int totalPages = extract(response);
+
+        assertThat(totalPages, is(3));
+        assertThat(illnesses.stream().map(Illness::getBovineTag).collect(Collectors.toList()), is(Arrays.asList("1", "2")));
+        assertThat(illnesses.get(1).getDiseaseName(), is("Brucelosis"));
+    }
+
+    @Test
+    public void forEachElementShouldHandNothingForAnEmptyArray() throws IOException {
+        int totalPages = extract(response("[]"));
+
+        assertThat(totalPages, is(1));
+        assertThat(illnesses, is(Collections.emptyList()));
+    }
+
+    @Test
+    public void forEachElementShouldHandNothingForANullOrEmptyBody() throws IOException {
+        extract(response("null"));
+        extract(response(""));
+
+        assertThat(illnesses, is(Collections.emptyList()));
+    }
+
+    @Test
+    public void forEachElementShouldRejectABodyThatIsNotAnArray() {
+        MockClientHttpResponse response = response("{\"message\":\"Establishment not found\",\"details\":[]}");
+
+        assertThrows(MismatchedInputException.class, () -> extract(response));
+        assertThat(illnesses, is(Collections.emptyList()));
+    }
+
+    @Test
+    public void forEachElementShouldFailOnATruncatedStreamAfterHandingTheCompleteElements() {
+        MockClientHttpResponse response = response("[{\"bovineTag\":\"1\",\"diseaseName\":\"Aftosa\"},{\"bovineTag\":\"2\",\"dise");
+
+        assertThrows(JsonProcessingException.class, () -> extract(response));
+        assertThat(illnesses.size(), is(1));
+        assertThat(illnesses.get(0).getBovineTag(), is("1"));
+    }
+
+    private int extract(MockClientHttpResponse response) throws IOException {
+        return ClientStreams.forEachElement(streamMapper, Illness.class, illnesses::add).extractData(response);
+    }
+
+    private MockClientHttpResponse response(String body) {
+        return new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,110 @@
+package com.cema.administration.services.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PagedFetcherTest {
+
+    @Test
+    public void getTotalPagesShouldAnswerOnePageWhenTheHeaderIsMissingOrInvalid() {
+        HttpHeaders invalidHeaders = new HttpHeaders();
+        invalidHeaders.add(PagedFetcher.TOTAL_PAGES_HEADER, "many");
+
+        assertThat(PagedFetcher.getTotalPages(new HttpHeaders()), is(1));
+        assertThat(PagedFetcher.getTotalPages(invalidHeaders), is(1));
+    }
+
+    @Test
+    public void forEachShouldReadOnlyTheFirstPageWhenThereAreZeroTotalPages() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(PagedFetcher.TOTAL_PAGES_HEADER, "0");
+        FakePages pages = new FakePages(PagedFetcher.getTotalPages(headers));
+
+        List<String> elements = newPagedFetcher(true).getAll(pages);
+
+        assertThat(pages.requestedPages, is(Collections.singletonList(0)));
+        assertThat(elements, is(Collections.singletonList("page-0")));
+    }
+
+    @Test
+    public void forEachShouldReadEveryPageInOrder() {
+        for (boolean readAhead : Arrays.asList(true, false)) {
+            FakePages pages = new FakePages(3, 3, 3);
+
+            List<String> elements = newPagedFetcher(readAhead).getAll(pages);
+
+            assertThat(pages.requestedPages, is(Arrays.asList(0, 1, 2)));
+            assertThat(elements, is(Arrays.asList("page-0", "page-1", "page-2")));
+        }
+    }
+
+    @Test
+    public void forEachShouldPropagateAFailedReadAheadPageAndStopReading() {
+        FakePages pages = new FakePages(4, 4, 4, 4);
+        pages.failingPage = 1;
+        List<String> elements = new ArrayList<>();
+
+        HttpServerErrorException exception = assertThrows(HttpServerErrorException.class,
+                () -> newPagedFetcher(true).forEach(pages, elements::add));
+
+        assertThat(exception.getStatusCode(), is(HttpStatus.BAD_GATEWAY));
+        assertThat(pages.requestedPages, is(Arrays.asList(0, 1)));
+        assertThat(elements, is(Collections.singletonList("page-0")));
+    }
+
+    @Test
+    public void forEachShouldFollowTheTotalPagesOfTheLatestPage() {
+        for (boolean readAhead : Arrays.asList(true, false)) {
+            // Elements were removed upstream while the pages were read
+            FakePages shrinkingPages = new FakePages(3, 2, 2);
+            assertThat(newPagedFetcher(readAhead).getAll(shrinkingPages), is(Arrays.asList("page-0", "page-1")));
+            assertThat(shrinkingPages.requestedPages, is(Arrays.asList(0, 1)));
+
+            // Elements were added upstream while the pages were read
+            FakePages growingPages = new FakePages(2, 3, 3);
+            assertThat(newPagedFetcher(readAhead).getAll(growingPages),
+                    is(Arrays.asList("page-0", "page-1", "page-2")));
+            assertThat(growingPages.requestedPages, is(Arrays.asList(0, 1, 2)));
+        }
+    }
+
+    private PagedFetcher newPagedFetcher(boolean readAhead) {
+        return new PagedFetcher(new SyncTaskExecutor(), 10, readAhead);
+    }
+
+    /**
+     * Answers one element per page and, for each page, the total pages the upstream service reported with it.
+     */
+    private static final class FakePages implements PagedFetcher.PageReader<String> {
+        private final List<Integer> totalPagesByPage;
+        private final List<Integer> requestedPages = new ArrayList<>();
+        private int failingPage = -1;
+
+        private FakePages(Integer... totalPagesByPage) {
+            this.totalPagesByPage = Arrays.asList(totalPagesByPage);
+        }
+
+        @Override
+        public int read(int page, int size, Consumer<? super String> consumer) {
+            requestedPages.add(page);
+            if (page == failingPage) {
+                throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+            }
+            consumer.accept("page-" + page);
+            return totalPagesByPage.get(page);
+        }
+    }
+}
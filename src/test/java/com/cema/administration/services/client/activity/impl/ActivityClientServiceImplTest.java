@@ -0,0 +1,117 @@
+package com.cema.administration.services.client.activity.impl;
+
+import com.cema.administration.domain.activity.Weighing;
+import com.cema.administration.services.authorization.AuthorizationService;
+import com.cema.administration.services.client.PagedFetcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+public class ActivityClientServiceImplTest {
+
+    private static final long DAY = 86400000L;
+
+    @Mock
+    private RestTemplate restTemplate;
+    @Mock
+    private AuthorizationService authorizationService;
+    @Mock
+    private PagedFetcher pagedFetcher;
+
+    private ActivityClientServiceImpl activityClientService;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        activityClientService = new ActivityClientServiceImpl(restTemplate, "http://activity/v1/", authorizationService,
+                pagedFetcher);
+    }
+
+    @Test
+    public void getLastWeightingsForBovinesShouldKeepTheLastTenWeightingsOfEachTag() {
+        List<Weighing> weightings = new ArrayList<>();
+        for (int day = 0; day < 12; day++) {
+            weightings.add(weighing("1", day));
+        }
+        weightings.add(weighing("1", null));
+        weightings.addAll(Arrays.asList(weighing("2", 3), weighing("2", 5), weighing("9", 1)));
+        doAnswer(invocation -> {
+            Consumer<Weighing> consumer = invocation.getArgument(1);
+            weightings.forEach(consumer);
+            return null;
+        }).when(pagedFetcher).forEach(any(), any());
+
+        Map<String, List<Weighing>> weightingsByTag = activityClientService.getLastWeightingsForBovines(
+                Arrays.asList("1", "2", "1"));
+
+        verify(pagedFetcher, times(1)).forEach(any(), any());
+        assertThat(weightingsByTag.size(), is(2));
+        List<Weighing> lastOfFirst = weightingsByTag.get("1");
+        assertThat(lastOfFirst.size(), is(10));
+        assertThat(lastOfFirst.get(0).getWeight(), is(11L));
+        assertThat(lastOfFirst.get(9).getWeight(), is(2L));
+        List<Weighing> lastOfSecond = weightingsByTag.get("2");
+        assertThat(lastOfSecond.size(), is(2));
+        assertThat(lastOfSecond.get(0).getWeight(), is(5L));
+    }
+
+    @Test
+    public void forEachWeighingShouldAskEveryPageFromTheExecutionDate() {
+        ActivityClientServiceImpl pagingClientService = new ActivityClientServiceImpl(restTemplate,
+                "http://activity/v1/", authorizationService, new PagedFetcher(new SyncTaskExecutor(), 50, false));
+        when(restTemplate.<Integer>execute(anyString(), eq(HttpMethod.POST), any(), any())).thenReturn(2);
+
+        pagingClientService.forEachWeighing(LocalDate.of(2021, 3, 1), weighing -> {
+        });
+
+        ArgumentCaptor<String> urls = ArgumentCaptor.forClass(String.class);
+        verify(restTemplate, times(2)).execute(urls.capture(), eq(HttpMethod.POST), any(), any());
+        assertThat(urls.getAllValues(), is(Arrays.asList(
+                "http://activity/v1/weightings/search?size=50&page=0&executionDateFrom=2021-03-01",
+                "http://activity/v1/weightings/search?size=50&page=1&executionDateFrom=2021-03-01")));
+    }
+
+    @Test
+    public void getAllUltrasoundsShouldNotFilterByDateWithoutAnExecutionDate() {
+        ActivityClientServiceImpl pagingClientService = new ActivityClientServiceImpl(restTemplate,
+                "http://activity/v1/", authorizationService, new PagedFetcher(new SyncTaskExecutor(), 50, false));
+        when(restTemplate.<Integer>execute(anyString(), eq(HttpMethod.POST), any(), any())).thenReturn(1);
+
+        pagingClientService.getAllUltrasounds();
+
+        verify(restTemplate).execute(eq("http://activity/v1/ultrasounds/search?size=50&page=0"), eq(HttpMethod.POST),
+                any(), any());
+    }
+
+    // The weight is the day of the weighing, to check the order
+    private Weighing weighing(String tag, Integer day) {
+        return Weighing.builder()
+                .bovineTag(tag)
+                .weight(day == null ? -1L : day.longValue())
+                .executionDate(day == null ? null : new Date(day * DAY))
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.cema.administration.services.client.health.impl;
+
+import com.cema.administration.services.authorization.AuthorizationService;
+import com.cema.administration.services.client.PagedFetcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+public class HealthClientServiceImplTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+    @Mock
+    private AuthorizationService authorizationService;
+
+    private HealthClientServiceImpl healthClientService;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        healthClientService = new HealthClientServiceImpl(restTemplate, "http://health/v1/", authorizationService,
+                new PagedFetcher(new SyncTaskExecutor(), 50, false));
+    }
+
+    @Test
+    public void forEachBovineIllnessShouldAskEveryPageFromTheStartingDate() {
+        when(restTemplate.<Integer>execute(anyString(), eq(HttpMethod.GET), any(), any())).thenReturn(2);
+
+        healthClientService.forEachBovineIllness(LocalDate.of(2021, 3, 1), illness -> {
+        });
+
+        ArgumentCaptor<String> urls = ArgumentCaptor.forClass(String.class);
+        verify(restTemplate, times(2)).execute(urls.capture(), eq(HttpMethod.GET), any(), any());
+        assertThat(urls.getAllValues(), is(Arrays.asList(
+                "http://health/v1/illness/list?size=50&page=0&startingDateFrom=2021-03-01",
+                "http://health/v1/illness/list?size=50&page=1&startingDateFrom=2021-03-01")));
+    }
+
+    @Test
+    public void getAllBovineIllnessShouldNotFilterByDateWithoutAStartingDate() {
+        when(restTemplate.<Integer>execute(anyString(), eq(HttpMethod.GET), any(), any())).thenReturn(1);
+
+        healthClientService.getAllBovineIllness();
+
+        verify(restTemplate).execute(eq("http://health/v1/illness/list?size=50&page=0"), eq(HttpMethod.GET),
+                any(), any());
+    }
+}
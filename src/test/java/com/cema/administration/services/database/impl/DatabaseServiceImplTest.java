@@ -0,0 +1,57 @@
+package com.cema.administration.services.database.impl;
+
+import com.cema.administration.entities.CemaSubscriptionType;
+import com.cema.administration.repositories.SubscriptionTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+public class DatabaseServiceImplTest {
+
+    @Mock
+    private SubscriptionTypeRepository subscriptionTypeRepository;
+
+    private DatabaseServiceImpl databaseService;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        databaseService = new DatabaseServiceImpl(subscriptionTypeRepository);
+    }
+
+    @Test
+    public void searchSubscriptionTypesShouldEscapeTheLikeWildcards() {
+        CemaSubscriptionType example = CemaSubscriptionType.builder()
+                .name("100%_off")
+                .description("C:\\plans")
+                .build();
+
+        databaseService.searchSubscriptionTypes(example, 2, 10);
+
+        verify(subscriptionTypeRepository).search("100\\%\\_off", "C:\\\\plans", -1L, -1L, PageRequest.of(2, 10));
+    }
+
+    @Test
+    public void searchSubscriptionTypesShouldMatchEverythingForMissingFields() {
+        databaseService.searchSubscriptionTypes(CemaSubscriptionType.builder().build(), 0, 20);
+
+        verify(subscriptionTypeRepository).search("", "", -1L, -1L, PageRequest.of(0, 20));
+    }
+
+    @Test
+    public void searchSubscriptionTypesShouldPassThePlainValues() {
+        CemaSubscriptionType example = CemaSubscriptionType.builder()
+                .name("Basic")
+                .price(100L)
+                .duration(30L)
+                .build();
+
+        databaseService.searchSubscriptionTypes(example, 0, 20);
+
+        verify(subscriptionTypeRepository).search("Basic", "", 100L, 30L, PageRequest.of(0, 20));
+    }
+}
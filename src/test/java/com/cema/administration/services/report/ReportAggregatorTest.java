@@ -0,0 +1,62 @@
+package com.cema.administration.services.report;
+
+import com.cema.administration.domain.report.ReportAggregate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class ReportAggregatorTest {
+
+    @Test
+    public void addShouldSumValuesAndCountRowsByYearAndDimension() {
+        ReportAggregator aggregator = new ReportAggregator(ReportCalculator.ALL_YEARS);
+
+        aggregator.add(2020, "vaca", 300);
+        aggregator.add(2020, new String("vaca"), 500);
+        aggregator.add(2021, "vaca", 400);
+        aggregator.add(2020, "toro", 700);
+
+        List<ReportAggregate> aggregates = aggregator.getAggregates();
+        aggregates.sort(Comparator.comparing(ReportAggregate::getYear).thenComparing(ReportAggregate::getDimension));
+
+        assertThat(aggregates.size(), is(3));
+        assertThat(aggregates.get(0), is(new ReportAggregate(2020, "toro", 700, 1)));
+        assertThat(aggregates.get(1), is(new ReportAggregate(2020, "vaca", 800, 2)));
+        assertThat(aggregates.get(2), is(new ReportAggregate(2021, "vaca", 400, 1)));
+    }
+
+    @Test
+    public void addShouldSkipYearsBeforeTheFromYear() {
+        ReportAggregator aggregator = new ReportAggregator(2021);
+
+        aggregator.add(2020, "vaca", 300);
+        aggregator.add(2021, "vaca", 400);
+
+        assertThat(aggregator.getAggregates().size(), is(1));
+        assertThat(aggregator.getAggregates().get(0), is(new ReportAggregate(2021, "vaca", 400, 1)));
+    }
+
+    @Test
+    public void addShouldKeepEveryTotalWhenTheTableGrows() {
+        ReportAggregator aggregator = new ReportAggregator(ReportCalculator.ALL_YEARS);
+
+        for (int year = 1900; year < 2100; year++) {
+            for (int dimension = 0; dimension < 10; dimension++) {
+                aggregator.add(year, "dimension" + dimension, year);
+                aggregator.add(year, "dimension" + dimension, dimension);
+            }
+        }
+
+        List<ReportAggregate> aggregates = aggregator.getAggregates();
+        assertThat(aggregates.size(), is(2000));
+        for (ReportAggregate aggregate : aggregates) {
+            int dimension = Integer.parseInt(aggregate.getDimension().substring("dimension".length()));
+            assertThat(aggregate.getValue(), is((long) aggregate.getYear() + dimension));
+            assertThat(aggregate.getCount(), is(2L));
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.OperationType;
+import com.cema.administration.domain.activity.Feeding;
+import com.cema.administration.domain.activity.Ultrasound;
+import com.cema.administration.domain.activity.Weighing;
+import com.cema.administration.domain.bovine.Batch;
+import com.cema.administration.domain.bovine.Bovine;
+import com.cema.administration.domain.economic.BovineOperation;
+import com.cema.administration.domain.economic.Supply;
+import com.cema.administration.domain.economic.SupplyOperation;
+import com.cema.administration.domain.health.Illness;
+import com.cema.administration.domain.report.Disease;
+import com.cema.administration.domain.report.FoodConsumption;
+import com.cema.administration.domain.report.Income;
+import com.cema.administration.domain.report.Live;
+import com.cema.administration.domain.report.LiveCost;
+import com.cema.administration.domain.report.Pregnancy;
+import com.cema.administration.domain.report.Weight;
+import com.cema.administration.domain.report.YearlyReport;
+import org.springframework.util.StringUtils;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The reports as ReportingController computed them before they moved into the calculators, over every year, so the
+ * calculators can be checked against them. The upstream lookups are replaced by maps of the same data.
+ */
+final class BaselineReports {
+
+    private BaselineReports() {
+    }
+
+    static YearlyReport pregnancy(List<Ultrasound> ultrasounds) {
+        Map<Integer, Integer> positives = new HashMap<>();
+        Map<Integer, Integer> total = new HashMap<>();
+
+        ultrasounds = ultrasounds.stream()
+                .filter(ultrasound -> StringUtils.hasText(ultrasound.getResult()))
+                .collect(Collectors.toList());
+
+        for (Ultrasound ultrasound : ultrasounds) {
+            Integer year = yearOf(ultrasound.getExecutionDate());
+            int totalCount = total.getOrDefault(year, 0);
+            int positivesCount = positives.getOrDefault(year, 0);
+            totalCount++;
+            total.put(year, totalCount);
+            if ("positivo".equalsIgnoreCase(ultrasound.getResult()) || "positive".equalsIgnoreCase(ultrasound.getResult())) {
+                positivesCount++;
+            }
+            positives.put(year, positivesCount);
+        }
+
+        YearlyReport pregnancy = new YearlyReport();
+        pregnancy.setType("pregnancy");
+        pregnancy.setDescription("Porcentaje de vacas preñadas por año");
+        pregnancy.setReportedList(new ArrayList<>());
+
+        for (Integer year : total.keySet()) {
+            float totalCount = total.get(year);
+            float positivesCount = positives.get(year);
+            Float percentage = (positivesCount / totalCount) * 100;
+            pregnancy.getReportedList().add(new Pregnancy(year, percentage));
+        }
+
+        pregnancy.getReportedList().sort(null);
+
+        return pregnancy;
+    }
+
+    static YearlyReport disease(List<Illness> illnesses) {
+        Map<String, Disease> reports = new HashMap<>();
+
+        for (Illness illness : illnesses) {
+            String diseaseName = illness.getDiseaseName();
+            int year = yearOf(illness.getStartingDate());
+            String key = diseaseName + year;
+
+            Disease disease = reports.containsKey(key) ? reports.get(key) : new Disease(year, 0, diseaseName);
+            disease.addOne();
+            reports.put(key, disease);
+        }
+
+        YearlyReport diseaseReport = YearlyReport.builder()
+                .type("disease")
+                .description("Cantidad de infecciones anuales por tipo")
+                .build();
+
+        diseaseReport.setReportedList(new ArrayList<>(reports.values()));
+
+        diseaseReport.getReportedList().sort(null);
+
+        return diseaseReport;
+    }
+
+    static YearlyReport weight(List<Weighing> weightings) {
+        weightings = weightings.stream()
+                .filter(weighing -> StringUtils.hasText(weighing.getCategory()))
+                .filter(weighing -> weighing.getWeight() != null)
+                .collect(Collectors.toList());
+
+        Map<String, Weight> totalWeights = new HashMap<>();
+        Map<String, Integer> totals = new HashMap<>();
+
+        for (Weighing weighing : weightings) {
+            String category = weighing.getCategory().toLowerCase(Locale.ROOT);
+            Integer year = yearOf(weighing.getExecutionDate());
+            Long weight = weighing.getWeightSafely();
+            String key = category + year;
+
+            int totalCount = totals.getOrDefault(key, 0);
+            Weight totalWeight = totalWeights.getOrDefault(key, new Weight(year, 0L, category));
+            totalCount++;
+            totals.put(key, totalCount);
+            totalWeight.setWeight(totalWeight.getWeight() + weight);
+            totalWeights.put(key, totalWeight);
+        }
+
+        YearlyReport weightReport = new YearlyReport();
+        weightReport.setType("weight");
+        weightReport.setDescription("Peso promedio anual por categoria");
+        weightReport.setReportedList(new ArrayList<>());
+
+        for (String key : totalWeights.keySet()) {
+            Weight weight = totalWeights.get(key);
+            Integer total = totals.get(key);
+            weight.setWeight(weight.getWeight() / total);
+            weightReport.getReportedList().add(weight);
+        }
+
+        weightReport.getReportedList().sort(null);
+
+        return weightReport;
+    }
+
+    static YearlyReport batch(List<Batch> batches, Map<String, Bovine> bovinesByTag,
+                              Map<String, List<Weighing>> lastWeightingsByTag) {
+        Map<String, Weight> totalWeights = new HashMap<>();
+        Map<String, Integer> totals = new HashMap<>();
+
+        for (Batch batch : batches) {
+            List<String> bovineTags = batch.getBovineTags();
+            String batchName = batch.getBatchName();
+
+            List<Bovine> bovines = bovineTags.stream()
+                    .map(bovinesByTag::get)
+                    .filter(bovine -> bovine != null)
+                    .collect(Collectors.toList());
+            for (Bovine bovine : bovines) {
+                List<Weighing> weightings = lastWeightingsByTag.getOrDefault(bovine.getTag(), new ArrayList<>());
+
+                for (Weighing weighing : weightings) {
+                    int year = yearOf(weighing.getExecutionDate());
+                    long weight = weighing.getWeightSafely();
+
+                    String key = batchName + year;
+
+                    int totalCount = totals.getOrDefault(key, 0);
+                    Weight totalWeight = totalWeights.getOrDefault(key, new Weight(year, 0L, batchName));
+                    totalCount++;
+                    totals.put(key, totalCount);
+                    totalWeight.setWeight(totalWeight.getWeight() + weight);
+                    totalWeights.put(key, totalWeight);
+                }
+            }
+        }
+
+        YearlyReport batch = new YearlyReport();
+        batch.setType("batch");
+        batch.setDescription("Peso promedio anual por batch");
+        batch.setReportedList(new ArrayList<>());
+
+        for (String key : totalWeights.keySet()) {
+            Weight weight = totalWeights.get(key);
+            Integer total = totals.get(key);
+            weight.setWeight(weight.getWeight() / total);
+            batch.getReportedList().add(weight);
+        }
+
+        batch.getReportedList().sort(null);
+
+        return batch;
+    }
+
+    static YearlyReport feed(List<Feeding> feedings, Map<String, Bovine> bovinesByTag) {
+        Map<String, FoodConsumption> reports = new HashMap<>();
+
+        for (Feeding feeding : feedings) {
+            int year = yearOf(feeding.getExecutionDate());
+            long foodEaten = feeding.getAmountSafely();
+            String tag = feeding.getBovineTag();
+
+            Bovine bovine = bovinesByTag.get(tag);
+            if (bovine != null) {
+                String category = bovine.getCategory();
+                String key = category + year;
+
+                FoodConsumption foodConsumption = reports.containsKey(key) ? reports.get(key)
+                        : new FoodConsumption(year, 0L, category);
+                foodConsumption.setFoodEaten(foodConsumption.getFoodEaten() + foodEaten);
+                reports.put(key, foodConsumption);
+            }
+        }
+
+        YearlyReport foodConsumption = YearlyReport.builder()
+                .type("foodConsumption")
+                .description("Alimento consumido anualmente por categoria")
+                .build();
+
+        foodConsumption.setReportedList(new ArrayList<>(reports.values()));
+
+        foodConsumption.getReportedList().sort(null);
+
+        return foodConsumption;
+    }
+
+    static YearlyReport performance(List<Weighing> weighingList, List<Feeding> feedingList,
+                                    Map<String, Supply> suppliesByName) {
+        Map<String, Long> weightByYear = new HashMap<>();
+        Map<String, Long> spendingByYear = new HashMap<>();
+
+        for (Weighing weighing : weighingList) {
+            String yearKey = String.valueOf(yearOf(weighing.getExecutionDate()));
+
+            long weight = weightByYear.getOrDefault(yearKey, 0L);
+            weight += weighing.getWeightSafely();
+            weightByYear.put(yearKey, weight);
+        }
+
+        for (Feeding feeding : feedingList) {
+            String yearKey = String.valueOf(yearOf(feeding.getExecutionDate()));
+            String foodName = feeding.getFood();
+            long foodAmount = feeding.getAmountSafely();
+            Supply supply = suppliesByName.get(foodName);
+            long price = supply.getPrice();
+
+            long spending = spendingByYear.getOrDefault(yearKey, 0L);
+            spending += foodAmount * price;
+            spendingByYear.put(yearKey, spending);
+        }
+
+        YearlyReport liveCost = new YearlyReport();
+        liveCost.setType("liveCost");
+        liveCost.setDescription("Rendimiento anual de la comida por kilogramo vivo");
+        liveCost.setReportedList(new ArrayList<>());
+
+        for (String key : weightByYear.keySet()) {
+            long weight = weightByYear.getOrDefault(key, 0L);
+            long spending = spendingByYear.getOrDefault(key, 0L);
+            double costXKg = weight != 0 ? (double) spending / weight : -1;
+            LiveCost report = new LiveCost(Integer.valueOf(key), weight, spending, costXKg);
+            liveCost.getReportedList().add(report);
+        }
+
+        liveCost.getReportedList().sort(null);
+
+        return liveCost;
+    }
+
+    static YearlyReport live(List<Bovine> bovines) {
+        Map<String, Live> reports = new HashMap<>();
+
+        for (Bovine bovine : bovines) {
+            String category = bovine.getCategory();
+            Integer year = yearOf(bovine.getTaggingDate());
+            String key = category + year;
+
+            Live live = reports.containsKey(key) ? reports.get(key) : new Live(year, 0, category);
+            live.addOne();
+            reports.put(key, live);
+        }
+
+        YearlyReport liveReport = new YearlyReport();
+        liveReport.setType("live");
+        liveReport.setDescription("Cantidad de animales vivos por categoria por año");
+
+        liveReport.setReportedList(new ArrayList<>(reports.values()));
+
+        liveReport.getReportedList().sort(null);
+
+        return liveReport;
+    }
+
+    static YearlyReport income(List<SupplyOperation> supplyOperations, List<BovineOperation> bovineOperations,
+                               Map<String, Supply> suppliesByName) {
+        Map<String, Long> spendingByYear = new HashMap<>();
+        Map<String, Long> incomeByYear = new HashMap<>();
+
+        for (SupplyOperation supplyOperation : supplyOperations) {
+            String yearKey = String.valueOf(yearOf(supplyOperation.getTransactionDate()));
+            String supplyName = supplyOperation.getSupplyName();
+            Supply supply = suppliesByName.get(supplyName);
+
+            String type = supplyOperation.getOperationType();
+            long amount = supplyOperation.getAmount();
+            long price = supply.getPrice();
+            long cost = amount * price;
+            if (OperationType.BUY.equalsIgnoreCase(type)) {
+                long totalByYear = spendingByYear.getOrDefault(yearKey, 0L);
+                totalByYear += cost;
+                spendingByYear.put(yearKey, totalByYear);
+            }
+        }
+
+        for (BovineOperation bovineOperation : bovineOperations) {
+            long amount = bovineOperation.getAmount();
+            String type = bovineOperation.getOperationType();
+            String yearKey = String.valueOf(yearOf(bovineOperation.getTransactionDate()));
+
+            if (OperationType.BUY.equalsIgnoreCase(type)) {
+                long totalByYear = spendingByYear.getOrDefault(yearKey, 0L);
+                totalByYear += amount;
+                spendingByYear.put(yearKey, totalByYear);
+            } else if (OperationType.SELL.equalsIgnoreCase(type)) {
+                long totalByYear = incomeByYear.getOrDefault(yearKey, 0L);
+                totalByYear += amount;
+                incomeByYear.put(yearKey, totalByYear);
+            }
+        }
+
+        YearlyReport income = new YearlyReport();
+        income.setType("income");
+        income.setDescription("Gastos versus ingresos por año");
+        income.setReportedList(new ArrayList<>());
+
+        for (String key : incomeByYear.keySet()) {
+            long incomeAmount = incomeByYear.get(key);
+            long spendingAmount = spendingByYear.get(key);
+            Income incomeReport = new Income(Integer.valueOf(key), incomeAmount, spendingAmount);
+            income.getReportedList().add(incomeReport);
+        }
+
+        income.getReportedList().sort(null);
+
+        return income;
+    }
+
+    private static int yearOf(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime().getYear();
+    }
+}
@@ -0,0 +1,287 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.OperationType;
+import com.cema.administration.domain.activity.Feeding;
+import com.cema.administration.domain.activity.Ultrasound;
+import com.cema.administration.domain.activity.Weighing;
+import com.cema.administration.domain.bovine.Batch;
+import com.cema.administration.domain.bovine.Bovine;
+import com.cema.administration.domain.economic.BovineOperation;
+import com.cema.administration.domain.economic.Supply;
+import com.cema.administration.domain.economic.SupplyOperation;
+import com.cema.administration.domain.health.Illness;
+import com.cema.administration.domain.report.Income;
+import com.cema.administration.domain.report.LiveCost;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.services.client.activity.ActivityClientService;
+import com.cema.administration.services.client.activity.AsyncActivityClientService;
+import com.cema.administration.services.client.bovine.AsyncBovineClientService;
+import com.cema.administration.services.client.bovine.BovineClientService;
+import com.cema.administration.services.client.economic.AsyncEconomicClientService;
+import com.cema.administration.services.client.economic.EconomicClientService;
+import com.cema.administration.services.client.health.AsyncHealthClientService;
+import com.cema.administration.services.client.health.HealthClientService;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.ReportDataSet;
+import com.cema.administration.services.report.ReportDataSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.stubbing.Answer;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+/**
+ * Checks every calculator against the report the controller computed before the aggregates, for the same upstream
+ * data. The streamed data sets are streamed and the others fetched, like a refresh does.
+ */
+public class ReportCalculatorsTest {
+
+    @Mock
+    private ActivityClientService activityClientService;
+    @Mock
+    private HealthClientService healthClientService;
+    @Mock
+    private AsyncActivityClientService asyncActivityClientService;
+    @Mock
+    private AsyncBovineClientService asyncBovineClientService;
+    @Mock
+    private AsyncHealthClientService asyncHealthClientService;
+    @Mock
+    private AsyncEconomicClientService asyncEconomicClientService;
+    @Mock
+    private BovineClientService bovineClientService;
+    @Mock
+    private EconomicClientService economicClientService;
+
+    private final List<Bovine> bovines = Arrays.asList(
+            bovine("1", "vaca", 2019), bovine("2", "vaca", 2020), bovine("3", "toro", 2020),
+            bovine("4", "ternero", 2021), bovine("5", "vaca", 2021), bovine("6", "toro", 2019));
+    private final List<Batch> batches = Arrays.asList(
+            batch("norte", "1", "2", "3"), batch("sur", "4", "5", "99"), batch("vacio"));
+    private final List<Weighing> weightings = Arrays.asList(
+            weighing("1", "Vaca", 410L, 2019), weighing("1", "vaca", 430L, 2020), weighing("2", "vaca", 395L, 2020),
+            weighing("3", "TORO", 620L, 2020), weighing("3", "toro", 655L, 2021), weighing("4", "ternero", 120L, 2021),
+            weighing("5", "vaca", null, 2021), weighing("5", "", 380L, 2021), weighing("6", "toro", 700L, 2019),
+            weighing("99", "vaca", 350L, 2021));
+    private final List<Feeding> feedings = Arrays.asList(
+            feeding("1", "maiz", 20L, 2019), feeding("2", "maiz", 15L, 2020), feeding("3", "fardo", 40L, 2020),
+            feeding("4", "maiz", 5L, 2021), feeding("4", "fardo", null, 2021), feeding("99", "fardo", 30L, 2021));
+    private final List<Ultrasound> ultrasounds = Arrays.asList(
+            ultrasound("1", "positivo", 2019), ultrasound("2", "Positive", 2019), ultrasound("5", "negativo", 2019),
+            ultrasound("1", "negativo", 2020), ultrasound("2", "", 2020), ultrasound("5", "POSITIVO", 2021),
+            ultrasound("1", null, 2021), ultrasound("2", "negativo", 2021));
+    private final List<Illness> illnesses = Arrays.asList(
+            illness("1", "aftosa", 2019), illness("2", "aftosa", 2019), illness("3", "brucelosis", 2020),
+            illness("4", "aftosa", 2021), illness("5", "brucelosis", 2021));
+    private final List<SupplyOperation> supplyOperations = Arrays.asList(
+            supplyOperation("maiz", OperationType.BUY, 100L, 2019), supplyOperation("fardo", "BUY", 10L, 2020),
+            supplyOperation("maiz", OperationType.SELL, 30L, 2020), supplyOperation("fardo", OperationType.BUY, 20L, 2021));
+    private final List<BovineOperation> bovineOperations = Arrays.asList(
+            bovineOperation(OperationType.BUY, 5000L, 2019), bovineOperation(OperationType.SELL, 7000L, 2019),
+            bovineOperation(OperationType.SELL, 3000L, 2020), bovineOperation("Sell", 4000L, 2021),
+            bovineOperation(OperationType.BUY, 1000L, 2021));
+    private final Map<String, Supply> suppliesByName = new HashMap<>();
+    private final Map<String, Bovine> bovinesByTag = new HashMap<>();
+    private Map<String, List<Weighing>> lastWeightingsByTag;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        suppliesByName.put("maiz", Supply.builder().name("maiz").price(3L).build());
+        suppliesByName.put("fardo", Supply.builder().name("fardo").price(5L).build());
+        bovines.forEach(bovine -> bovinesByTag.put(bovine.getTag(), bovine));
+        lastWeightingsByTag = weightings.stream()
+                .filter(weighing -> bovinesByTag.containsKey(weighing.getBovineTag()))
+                .collect(Collectors.groupingBy(Weighing::getBovineTag));
+
+        when(asyncActivityClientService.getAllUltrasounds(any())).thenReturn(CompletableFuture.completedFuture(ultrasounds));
+        when(asyncActivityClientService.getAllWeightings(any())).thenReturn(CompletableFuture.completedFuture(weightings));
+        when(asyncActivityClientService.getAllFeedings(any())).thenReturn(CompletableFuture.completedFuture(feedings));
+        when(asyncActivityClientService.getLastWeightingsForBovines(anyCollection()))
+                .thenReturn(CompletableFuture.completedFuture(lastWeightingsByTag));
+        when(asyncHealthClientService.getAllBovineIllness(any())).thenReturn(CompletableFuture.completedFuture(illnesses));
+        when(asyncBovineClientService.getAllBovines()).thenReturn(CompletableFuture.completedFuture(bovines));
+        when(asyncBovineClientService.getAllBatches()).thenReturn(CompletableFuture.completedFuture(batches));
+        when(asyncEconomicClientService.getAllSupplyOperations()).thenReturn(CompletableFuture.completedFuture(supplyOperations));
+        when(asyncEconomicClientService.getAllBovineOperations()).thenReturn(CompletableFuture.completedFuture(bovineOperations));
+
+        doAnswer(streaming(ultrasounds)).when(activityClientService).forEachUltrasound(any(), any());
+        doAnswer(streaming(weightings)).when(activityClientService).forEachWeighing(any(), any());
+        doAnswer(streaming(feedings)).when(activityClientService).forEachFeeding(any(), any());
+        doAnswer(streaming(illnesses)).when(healthClientService).forEachBovineIllness(any(), any());
+
+        when(bovineClientService.getBovinesByTag(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> tags = invocation.getArgument(0);
+            Map<String, Bovine> found = new HashMap<>();
+            tags.stream().filter(bovinesByTag::containsKey).forEach(tag -> found.put(tag, bovinesByTag.get(tag)));
+            return found;
+        });
+        when(economicClientService.getSupply(anyString())).thenAnswer(invocation -> suppliesByName.get(invocation.<String>getArgument(0)));
+    }
+
+    @Test
+    public void pregnancyShouldMatchTheBaselineReport() {
+        assertThat(calculate(new PregnancyReportCalculator()), is(BaselineReports.pregnancy(ultrasounds)));
+    }
+
+    @Test
+    public void diseaseShouldMatchTheBaselineReport() {
+        assertThat(calculate(new DiseaseReportCalculator()), is(BaselineReports.disease(illnesses)));
+    }
+
+    @Test
+    public void weightShouldMatchTheBaselineReport() {
+        assertThat(calculate(new WeightReportCalculator()), is(BaselineReports.weight(weightings)));
+    }
+
+    @Test
+    public void batchShouldMatchTheBaselineReport() {
+        assertThat(calculate(new BatchReportCalculator()),
+                is(BaselineReports.batch(batches, bovinesByTag, lastWeightingsByTag)));
+    }
+
+    @Test
+    public void feedShouldMatchTheBaselineReport() {
+        assertThat(calculate(new FeedReportCalculator()), is(BaselineReports.feed(feedings, bovinesByTag)));
+    }
+
+    @Test
+    public void performanceShouldMatchTheBaselineReport() {
+        assertThat(calculate(new PerformanceReportCalculator()),
+                is(BaselineReports.performance(weightings, feedings, suppliesByName)));
+    }
+
+    @Test
+    public void liveShouldMatchTheBaselineReport() {
+        assertThat(calculate(new LiveReportCalculator()), is(BaselineReports.live(bovines)));
+    }
+
+    @Test
+    public void incomeShouldMatchTheBaselineReport() {
+        assertThat(calculate(new IncomeReportCalculator()),
+                is(BaselineReports.income(supplyOperations, bovineOperations, suppliesByName)));
+    }
+
+    @Test
+    public void incrementalReportsShouldMatchTheBaselineReportFromTheirFromYear() {
+        ReportCalculator reportCalculator = new PregnancyReportCalculator();
+        YearlyReport baseline = BaselineReports.pregnancy(ultrasounds);
+        baseline.filterByYear(2020, -1);
+
+        YearlyReport report = reportCalculator.buildReport(reportCalculator.aggregate(newSnapshot(reportCalculator), 2020));
+
+        assertThat(report, is(baseline));
+    }
+
+    @Test
+    public void incomeShouldReportNoSpendingForYearsWithEarningsOnly() {
+        List<BovineOperation> earningsOnly = new ArrayList<>(bovineOperations);
+        earningsOnly.add(bovineOperation(OperationType.SELL, 900L, 2022));
+        when(asyncEconomicClientService.getAllBovineOperations()).thenReturn(CompletableFuture.completedFuture(earningsOnly));
+
+        YearlyReport report = calculate(new IncomeReportCalculator());
+
+        // The controller failed on the year without spending
+        assertThrows(NullPointerException.class,
+                () -> BaselineReports.income(supplyOperations, earningsOnly, suppliesByName));
+        assertThat(report.getReportedList(), hasItem(new Income(2022, 900L, 0L)));
+    }
+
+    @Test
+    public void performanceShouldReportNoSpendingForYearsWithWeightOnly() {
+        List<Weighing> weightOnly = new ArrayList<>(weightings);
+        weightOnly.add(weighing("1", "vaca", 450L, 2022));
+        doAnswer(streaming(weightOnly)).when(activityClientService).forEachWeighing(any(), any());
+
+        YearlyReport report = calculate(new PerformanceReportCalculator());
+
+        assertThat(report, is(BaselineReports.performance(weightOnly, feedings, suppliesByName)));
+        assertThat(report.getReportedList(), hasItem(new LiveCost(2022, 450L, 0L, 0.0)));
+    }
+
+    private YearlyReport calculate(ReportCalculator reportCalculator) {
+        ReportDataSnapshot snapshot = newSnapshot(reportCalculator);
+        return reportCalculator.buildReport(reportCalculator.aggregate(snapshot, ReportCalculator.ALL_YEARS));
+    }
+
+    // Prefetched like a refresh of the report on its own
+    private ReportDataSnapshot newSnapshot(ReportCalculator reportCalculator) {
+        ReportDataSnapshot snapshot = new ReportDataSnapshot(activityClientService, healthClientService,
+                asyncActivityClientService, asyncBovineClientService, asyncHealthClientService,
+                asyncEconomicClientService, bovineClientService, economicClientService);
+        Set<ReportDataSet> fetchedDataSets = EnumSet.copyOf(reportCalculator.getDataSets());
+        fetchedDataSets.removeAll(reportCalculator.getStreamedDataSets());
+        snapshot.prefetch(fetchedDataSets, ReportCalculator.ALL_YEARS);
+        return snapshot;
+    }
+
+    private <T> Answer<Void> streaming(List<T> records) {
+        return invocation -> {
+            Consumer<T> consumer = invocation.getArgument(1);
+            records.forEach(consumer);
+            return null;
+        };
+    }
+
+    private static Date date(int year) {
+        return Date.from(LocalDate.of(year, 6, 15).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static Bovine bovine(String tag, String category, int year) {
+        return Bovine.builder().tag(tag).category(category).taggingDate(date(year)).build();
+    }
+
+    private static Batch batch(String batchName, String... bovineTags) {
+        return Batch.builder().batchName(batchName).bovineTags(Arrays.asList(bovineTags)).build();
+    }
+
+    private static Weighing weighing(String tag, String category, Long weight, int year) {
+        return Weighing.builder().bovineTag(tag).category(category).weight(weight).executionDate(date(year)).build();
+    }
+
+    private static Feeding feeding(String tag, String food, Long amount, int year) {
+        return Feeding.builder().bovineTag(tag).food(food).amount(amount).executionDate(date(year)).build();
+    }
+
+    private static Ultrasound ultrasound(String tag, String result, int year) {
+        return Ultrasound.builder().bovineTag(tag).result(result).executionDate(date(year)).build();
+    }
+
+    private static Illness illness(String tag, String diseaseName, int year) {
+        return Illness.builder().bovineTag(tag).diseaseName(diseaseName).startingDate(date(year)).build();
+    }
+
+    private static SupplyOperation supplyOperation(String supplyName, String operationType, Long amount, int year) {
+        return SupplyOperation.builder().supplyName(supplyName).operationType(operationType).amount(amount)
+                .transactionDate(date(year)).build();
+    }
+
+    private static BovineOperation bovineOperation(String operationType, Long amount, int year) {
+        return BovineOperation.builder().operationType(operationType).amount(amount).transactionDate(date(year)).build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.domain.report.YearlyReport;
+import com.cema.administration.entities.CemaReportRefresh;
+import com.cema.administration.services.authorization.AuthorizationService;
+import com.cema.administration.services.client.activity.ActivityClientService;
+import com.cema.administration.services.client.activity.AsyncActivityClientService;
+import com.cema.administration.services.client.bovine.AsyncBovineClientService;
+import com.cema.administration.services.client.bovine.BovineClientService;
+import com.cema.administration.services.client.economic.AsyncEconomicClientService;
+import com.cema.administration.services.client.economic.EconomicClientService;
+import com.cema.administration.services.client.health.AsyncHealthClientService;
+import com.cema.administration.services.client.health.HealthClientService;
+import com.cema.administration.services.report.ReportCalculator;
+import com.cema.administration.services.report.ReportDataSet;
+import com.cema.administration.services.report.ReportStoreService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+public class ReportServiceImplTest {
+
+    @Mock
+    private ReportCalculator reportCalculator;
+    @Mock
+    private ReportStoreService reportStoreService;
+    @Mock
+    private AuthorizationService authorizationService;
+    @Mock
+    private ActivityClientService activityClientService;
+    @Mock
+    private HealthClientService healthClientService;
+    @Mock
+    private AsyncActivityClientService asyncActivityClientService;
+    @Mock
+    private AsyncBovineClientService asyncBovineClientService;
+    @Mock
+    private AsyncHealthClientService asyncHealthClientService;
+    @Mock
+    private AsyncEconomicClientService asyncEconomicClientService;
+    @Mock
+    private BovineClientService bovineClientService;
+    @Mock
+    private EconomicClientService economicClientService;
+
+    private ReportServiceImpl reportService;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        when(authorizationService.getCurrentUserCuig()).thenReturn("321");
+        when(reportCalculator.getType()).thenReturn(ReportType.PREGNANCY);
+        when(reportCalculator.getDataSets()).thenReturn(EnumSet.noneOf(ReportDataSet.class));
+        when(reportCalculator.getStreamedDataSets()).thenReturn(EnumSet.noneOf(ReportDataSet.class));
+        when(reportCalculator.buildReport(any())).thenReturn(new YearlyReport("pregnancy", "", new ArrayList<>()));
+        reportService = newReportService();
+    }
+
+    @Test
+    public void getReportShouldRefreshAnIncrementalReportFromItsOpenYear() {
+        List<ReportAggregate> aggregates = Collections.singletonList(new ReportAggregate(2021, "ultrasounds", 1, 1));
+        when(reportStoreService.getRefresh("321", ReportType.PREGNANCY)).thenReturn(staleRefresh(2021));
+        when(reportCalculator.aggregate(any(), eq(2021))).thenReturn(aggregates);
+
+        reportService.getReport(ReportType.PREGNANCY, -1, -1);
+
+        verify(reportStoreService).replaceAggregates("321", ReportType.PREGNANCY, 2021, LocalDate.now().getYear(), aggregates);
+    }
+
+    @Test
+    public void getReportShouldRefreshEveryYearOfAReportThatIsNotIncremental() {
+        when(reportCalculator.getType()).thenReturn(ReportType.LIVE);
+        reportService = newReportService();
+        List<ReportAggregate> aggregates = Collections.singletonList(new ReportAggregate(2019, "vaca", 1, 1));
+        when(reportStoreService.getRefresh("321", ReportType.LIVE)).thenReturn(staleRefresh(2021));
+        when(reportCalculator.aggregate(any(), eq(ReportCalculator.ALL_YEARS))).thenReturn(aggregates);
+
+        reportService.getReport(ReportType.LIVE, -1, -1);
+
+        verify(reportStoreService).replaceAggregates("321", ReportType.LIVE, ReportCalculator.ALL_YEARS,
+                LocalDate.now().getYear(), aggregates);
+    }
+
+    @Test
+    public void getReportsShouldReadTheRefreshOfAReportOnce() {
+        List<ReportAggregate> aggregates = Collections.singletonList(new ReportAggregate(2021, "ultrasounds", 1, 1));
+        when(reportStoreService.getRefresh("321", ReportType.PREGNANCY)).thenReturn(staleRefresh(2021));
+        when(reportCalculator.aggregate(any(), eq(2021))).thenReturn(aggregates);
+
+        reportService.getReports(Collections.singletonList(ReportType.PREGNANCY), -1, -1);
+
+        verify(reportStoreService, times(1)).getRefresh("321", ReportType.PREGNANCY);
+        verify(reportStoreService).replaceAggregates("321", ReportType.PREGNANCY, 2021, LocalDate.now().getYear(), aggregates);
+    }
+
+    @Test
+    public void getReportsShouldNotReadTheRefreshOfACachedReport() {
+        when(reportStoreService.getRefresh("321", ReportType.PREGNANCY)).thenReturn(staleRefresh(2021));
+        reportService.getReport(ReportType.PREGNANCY, -1, -1);
+
+        reportService.getReports(Collections.singletonList(ReportType.PREGNANCY), -1, -1);
+
+        verify(reportStoreService, times(1)).getRefresh("321", ReportType.PREGNANCY);
+    }
+
+    @Test
+    public void getReportShouldFailAgainInsteadOfWaitingWhenAComputationThrewACheckedException() {
+        when(reportCalculator.aggregate(any(), anyInt())).thenAnswer(invocation -> {
+            throw new IOException("Upstream failed");
+        });
+
+        assertThrows(IOException.class, () -> reportService.getReport(ReportType.PREGNANCY, 2020, 2021));
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IOException.class, () -> reportService.getReport(ReportType.PREGNANCY, 2020, 2021)));
+
+        verify(reportCalculator, times(2)).aggregate(any(), anyInt());
+        verify(reportStoreService, never()).replaceAggregates(any(), any(), anyInt(), anyInt(), any());
+    }
+
+    private ReportServiceImpl newReportService() {
+        return new ReportServiceImpl(Collections.singletonList(reportCalculator), reportStoreService,
+                authorizationService, activityClientService, healthClientService, asyncActivityClientService,
+                asyncBovineClientService, asyncHealthClientService, asyncEconomicClientService, bovineClientService,
+                economicClientService, 300000, 60000, 1000);
+    }
+
+    private CemaReportRefresh staleRefresh(int openYear) {
+        return CemaReportRefresh.builder()
+                .refreshedAt(new Date(0))
+                .openYear(openYear)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.cema.administration.services.report.impl;
+
+import com.cema.administration.constants.ReportType;
+import com.cema.administration.domain.report.ReportAggregate;
+import com.cema.administration.entities.CemaReportAggregate;
+import com.cema.administration.entities.CemaReportRefresh;
+import com.cema.administration.repositories.ReportAggregateRepository;
+import com.cema.administration.repositories.ReportRefreshRepository;
+import com.cema.administration.services.report.ReportCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+public class ReportStoreServiceImplTest {
+
+    private static final String CUIG = "321";
+
+    @Mock
+    private ReportAggregateRepository reportAggregateRepository;
+    @Mock
+    private ReportRefreshRepository reportRefreshRepository;
+
+    // The report_aggregate table
+    private final List<CemaReportAggregate> rows = new ArrayList<>();
+    private final CemaReportRefresh reportRefresh = CemaReportRefresh.builder()
+            .establishmentCuig(CUIG)
+            .reportType(ReportType.PREGNANCY)
+            .build();
+    private ReportStoreServiceImpl reportStoreService;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        when(reportRefreshRepository.findForUpdate(CUIG, ReportType.PREGNANCY)).thenReturn(reportRefresh);
+        when(reportAggregateRepository.deleteFromYear(anyString(), any(), anyInt())).thenAnswer(invocation -> {
+            String cuig = invocation.getArgument(0);
+            ReportType reportType = invocation.getArgument(1);
+            int fromYear = invocation.getArgument(2);
+            int before = rows.size();
+            rows.removeIf(row -> row.getEstablishmentCuig().equals(cuig) && row.getReportType() == reportType
+                    && row.getYear() >= fromYear);
+            return before - rows.size();
+        });
+        when(reportAggregateRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            Collection<CemaReportAggregate> saved = invocation.getArgument(0);
+            rows.addAll(saved);
+            return new ArrayList<>(saved);
+        });
+        when(reportAggregateRepository.findAggregates(anyString(), anyString(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            String cuig = invocation.getArgument(0);
+            String reportType = invocation.getArgument(1);
+            return rows.stream()
+                    .filter(row -> row.getEstablishmentCuig().equals(cuig) && row.getReportType().name().equals(reportType))
+                    .collect(Collectors.toList());
+        });
+        reportStoreService = new ReportStoreServiceImpl(reportAggregateRepository, reportRefreshRepository);
+    }
+
+    @Test
+    public void replaceAggregatesShouldKeepTheClosedYearsOnAnIncrementalRefresh() {
+        reportStoreService.replaceAggregates(CUIG, ReportType.PREGNANCY, ReportCalculator.ALL_YEARS, 2021, Arrays.asList(
+                new ReportAggregate(2019, "ultrasounds", 3, 4),
+                new ReportAggregate(2020, "ultrasounds", 1, 2),
+                new ReportAggregate(2021, "ultrasounds", 1, 1)));
+        assertThat(reportRefresh.getOpenYear(), is(2021));
+
+        // The open year got more ultrasounds, the upstream window only covers it
+        reportStoreService.replaceAggregates(CUIG, ReportType.PREGNANCY, reportRefresh.getOpenYear(), 2022, Arrays.asList(
+                new ReportAggregate(2021, "ultrasounds", 2, 3),
+                new ReportAggregate(2022, "ultrasounds", 1, 1)));
+
+        List<ReportAggregate> aggregates = reportStoreService.getAggregates(CUIG, ReportType.PREGNANCY, -1, -1);
+        aggregates.sort(Comparator.comparing(ReportAggregate::getYear));
+        assertThat(aggregates, is(Arrays.asList(
+                new ReportAggregate(2019, "ultrasounds", 3, 4),
+                new ReportAggregate(2020, "ultrasounds", 1, 2),
+                new ReportAggregate(2021, "ultrasounds", 2, 3),
+                new ReportAggregate(2022, "ultrasounds", 1, 1))));
+        assertThat(reportRefresh.getOpenYear(), is(2022));
+    }
+}
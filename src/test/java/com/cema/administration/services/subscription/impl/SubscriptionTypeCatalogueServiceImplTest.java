@@ -0,0 +1,66 @@
+package com.cema.administration.services.subscription.impl;
+
+import com.cema.administration.entities.CemaSubscriptionType;
+import com.cema.administration.repositories.SubscriptionTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+public class SubscriptionTypeCatalogueServiceImplTest {
+
+    @Mock
+    private SubscriptionTypeRepository subscriptionTypeRepository;
+
+    private SubscriptionTypeCatalogueServiceImpl subscriptionTypeCatalogueService;
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+        subscriptionTypeCatalogueService = new SubscriptionTypeCatalogueServiceImpl(subscriptionTypeRepository, 60000, 100);
+    }
+
+    @Test
+    public void getLatestSubscriptionTypeShouldLoadANameOnceWhateverItsCase() {
+        CemaSubscriptionType subscriptionType = CemaSubscriptionType.builder().name("Basic").build();
+        when(subscriptionTypeRepository.findLatestByName("basic")).thenReturn(subscriptionType);
+
+        Optional<CemaSubscriptionType> loaded = subscriptionTypeCatalogueService.getLatestSubscriptionType("Basic");
+        Optional<CemaSubscriptionType> cached = subscriptionTypeCatalogueService.getLatestSubscriptionType("BASIC");
+
+        assertThat(loaded.get(), is(sameInstance(subscriptionType)));
+        assertThat(cached.get(), is(sameInstance(subscriptionType)));
+        verify(subscriptionTypeRepository, times(1)).findLatestByName(anyString());
+    }
+
+    @Test
+    public void getLatestSubscriptionTypeShouldCacheAMissingName() {
+        assertThat(subscriptionTypeCatalogueService.getLatestSubscriptionType("Premium").isPresent(), is(false));
+        assertThat(subscriptionTypeCatalogueService.getLatestSubscriptionType("premium").isPresent(), is(false));
+
+        verify(subscriptionTypeRepository, times(1)).findLatestByName("premium");
+    }
+
+    @Test
+    public void invalidateShouldLoadTheLatestVersionAgain() {
+        CemaSubscriptionType firstVersion = CemaSubscriptionType.builder().name("Basic").price(100L).build();
+        CemaSubscriptionType secondVersion = CemaSubscriptionType.builder().name("Basic").price(200L).build();
+        when(subscriptionTypeRepository.findLatestByName("basic")).thenReturn(firstVersion, secondVersion);
+
+        assertThat(subscriptionTypeCatalogueService.getLatestSubscriptionType("Basic").get(), is(sameInstance(firstVersion)));
+        subscriptionTypeCatalogueService.invalidate("BASIC");
+
+        assertThat(subscriptionTypeCatalogueService.getLatestSubscriptionType("Basic").get(), is(sameInstance(secondVersion)));
+        verify(subscriptionTypeRepository, times(2)).findLatestByName("basic");
+    }
+}
@@ -0,0 +1,136 @@
+package com.cema.administration.services.validation.impl;
+
+import com.cema.administration.domain.Establishment;
+import com.cema.administration.entities.CemaEstablishment;
+import com.cema.administration.entities.CemaSubscription;
+import com.cema.administration.exceptions.NotFoundException;
+import com.cema.administration.exceptions.ValidationException;
+import com.cema.administration.mapping.UpdateMappingService;
+import com.cema.administration.repositories.EstablishmentRepository;
+import com.cema.administration.services.validation.EstablishmentValidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+public class EstablishmentValidationCacheServiceImplTest {
+
+    private static final String CUIG = "321";
+
+    @Mock
+    private EstablishmentRepository establishmentRepository;
+    @Mock
+    private UpdateMappingService<CemaEstablishment, Establishment> establishmentMappingService;
+    @Mock
+    private EstablishmentValidationService establishmentValidationService;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @BeforeEach
+    public void setUp() {
+        openMocks(this);
+    }
+
+    @Test
+    public void validateEstablishmentShouldValidateAgainWhenTheActiveSubscriptionEndsBeforeTheTtl() {
+        EstablishmentValidationCacheServiceImpl validationCacheService = newService(Duration.ofMinutes(5));
+        when(establishmentRepository.findCemaEstablishmentByCuig(CUIG)).thenReturn(establishment(Duration.ofMinutes(1)));
+
+        validationCacheService.validateEstablishment(CUIG);
+        advance(Duration.ofSeconds(50));
+        validationCacheService.validateEstablishment(CUIG);
+        verify(establishmentRepository, times(1)).findCemaEstablishmentByCuig(CUIG);
+
+        advance(Duration.ofSeconds(20));
+        validationCacheService.validateEstablishment(CUIG);
+        verify(establishmentRepository, times(2)).findCemaEstablishmentByCuig(CUIG);
+    }
+
+    @Test
+    public void validateEstablishmentShouldValidateAgainAfterTheTtlWhenTheActiveSubscriptionEndsLater() {
+        EstablishmentValidationCacheServiceImpl validationCacheService = newService(Duration.ofMinutes(1));
+        when(establishmentRepository.findCemaEstablishmentByCuig(CUIG)).thenReturn(establishment(Duration.ofDays(30)));
+
+        validationCacheService.validateEstablishment(CUIG);
+        advance(Duration.ofSeconds(50));
+        validationCacheService.validateEstablishment(CUIG);
+        verify(establishmentRepository, times(1)).findCemaEstablishmentByCuig(CUIG);
+
+        advance(Duration.ofSeconds(20));
+        validationCacheService.validateEstablishment(CUIG);
+        verify(establishmentRepository, times(2)).findCemaEstablishmentByCuig(CUIG);
+    }
+
+    @Test
+    public void validateEstablishmentShouldKeepAnInvalidOutcomeForTheTtl() {
+        EstablishmentValidationCacheServiceImpl validationCacheService = newService(Duration.ofMinutes(1));
+        when(establishmentRepository.findCemaEstablishmentByCuig(CUIG)).thenReturn(establishment(Duration.ofDays(30)));
+        doThrow(new ValidationException("The subscription has expired"))
+                .when(establishmentValidationService).validateActiveUntil(any());
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> validationCacheService.validateEstablishment(CUIG));
+        advance(Duration.ofSeconds(50));
+        assertThrows(ValidationException.class, () -> validationCacheService.validateEstablishment(CUIG));
+        verify(establishmentRepository, times(1)).findCemaEstablishmentByCuig(CUIG);
+        assertThat(exception.getMessage(), is("The subscription has expired"));
+
+        advance(Duration.ofSeconds(20));
+        assertThrows(ValidationException.class, () -> validationCacheService.validateEstablishment(CUIG));
+        verify(establishmentRepository, times(2)).findCemaEstablishmentByCuig(CUIG);
+    }
+
+    @Test
+    public void invalidateShouldValidateTheEstablishmentAgainOnTheNextRequest() {
+        EstablishmentValidationCacheServiceImpl validationCacheService = newService(Duration.ofMinutes(5));
+        when(establishmentRepository.findCemaEstablishmentByCuig(CUIG)).thenReturn(establishment(Duration.ofDays(30)));
+
+        validationCacheService.validateEstablishment(CUIG);
+        validationCacheService.invalidate(CUIG);
+        validationCacheService.validateEstablishment(CUIG);
+
+        verify(establishmentRepository, times(2)).findCemaEstablishmentByCuig(CUIG);
+    }
+
+    @Test
+    public void validateEstablishmentShouldNotCacheAnEstablishmentThatIsNotFound() {
+        EstablishmentValidationCacheServiceImpl validationCacheService = newService(Duration.ofMinutes(5));
+
+        assertThrows(NotFoundException.class, () -> validationCacheService.validateEstablishment(CUIG));
+
+        when(establishmentRepository.findCemaEstablishmentByCuig(CUIG)).thenReturn(establishment(Duration.ofDays(30)));
+        validationCacheService.validateEstablishment(CUIG);
+        verify(establishmentRepository, times(2)).findCemaEstablishmentByCuig(CUIG);
+    }
+
+    private EstablishmentValidationCacheServiceImpl newService(Duration ttl) {
+        return new EstablishmentValidationCacheServiceImpl(establishmentRepository, establishmentMappingService,
+                establishmentValidationService, ttl.toMillis(), 100, nanos::get);
+    }
+
+    private CemaEstablishment establishment(Duration activeFor) {
+        return CemaEstablishment.builder()
+                .cuig(CUIG)
+                .activeSubscription(CemaSubscription.builder().id(1L).startingDate(new Date()).build())
+                .activeUntil(Date.from(Instant.now().plus(activeFor)))
+                .build();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
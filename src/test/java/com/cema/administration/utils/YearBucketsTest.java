@@ -0,0 +1,42 @@
+package com.cema.administration.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class YearBucketsTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Argentina/Buenos_Aires");
+
+    private final YearBuckets yearBuckets = new YearBuckets(ZONE);
+
+    @Test
+    public void getYearShouldMatchTheYearInTheZoneAroundTheYearBoundaries() {
+        LocalDateTime newYear = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+        assertThat(yearBuckets.getYear(toEpochMilli(newYear)), is(2021));
+        assertThat(yearBuckets.getYear(toEpochMilli(newYear) - 1), is(2020));
+        assertThat(yearBuckets.getYear(toEpochMilli(newYear.plusMonths(6))), is(2021));
+    }
+
+    @Test
+    public void getYearShouldFallBackOutsideThePrecomputedYears() {
+        assertThat(yearBuckets.getYear(toEpochMilli(LocalDateTime.of(1850, 6, 1, 12, 0))), is(1850));
+        assertThat(yearBuckets.getYear(toEpochMilli(LocalDateTime.of(2300, 6, 1, 12, 0))), is(2300));
+    }
+
+    @Test
+    public void getYearShouldMatchTheTimeApiForEveryDayOfACentury() {
+        for (LocalDateTime time = LocalDateTime.of(1950, 1, 1, 12, 0); time.getYear() < 2050; time = time.plusDays(1)) {
+            assertThat(yearBuckets.getYear(toEpochMilli(time)), is(time.getYear()));
+        }
+    }
+
+    private long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZONE).toInstant().toEpochMilli();
+    }
+}